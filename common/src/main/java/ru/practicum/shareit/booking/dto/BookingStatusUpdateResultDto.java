@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusUpdateResultDto {
+    private Long bookingId;
+    private StatusUpdateOutcome outcome;
+    private Status status;
+}
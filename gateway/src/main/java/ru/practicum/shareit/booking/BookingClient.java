@@ -2,35 +2,52 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingSavingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.item.ItemClient;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final ServerResponseCache responseCache;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ServerResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> saveBooking(BookingSavingDto bookingSavingDto, long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveBooking(BookingSavingDto bookingSavingDto, long userId) {
         return post("", userId, bookingSavingDto);
     }
 
-    public ResponseEntity<Object> findAllBookingsByUserId(long userId, String state, Short from, Short size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveBookings(List<BookingSavingDto> bookingSavingDtos,
+                                                               long userId) {
+        return post("/batch", userId, bookingSavingDtos);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllBookingsByUserId(long userId, String state, Short from,
+                                                                          Short size, String after) {
+        if (isCursorMode(from, after)) {
+            return get("?state={state}&size={size}&after={after}", userId, cursorParameters(state, size, after));
+        }
+
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -40,16 +57,34 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> updateAvailableStatus(long bookingId, Boolean approved, long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportBookings(long userId, String state) {
+        return get("/export?state={state}", userId, Map.of("state", state));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateAvailableStatus(long bookingId, Boolean approved,
+                                                                        long userId) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null)
+                .doFinally(signal -> responseCache.evictAll(ItemClient.API_PREFIX + "/"));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateAvailableStatuses(List<Long> bookingIds, boolean approved,
+                                                                          long userId) {
         Map<String, Object> parameters = Map.of("approved", approved);
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        return patch("/batch?approved={approved}", userId, parameters, bookingIds)
+                .doFinally(signal -> responseCache.evictAll(ItemClient.API_PREFIX + "/"));
     }
 
-    public ResponseEntity<Object> findBookingByUserOwner(long bookingId, long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findBookingByUserOwner(long bookingId, long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> findOwnerBookings(long userId, String state, Short from, Short size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findOwnerBookings(long userId, String state, Short from,
+                                                                    Short size, String after) {
+        if (isCursorMode(from, after)) {
+            return get("/owner?state={state}&size={size}&after={after}", userId, cursorParameters(state, size, after));
+        }
+
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -57,4 +92,16 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    private static boolean isCursorMode(Short from, String after) {
+        return after != null || from == 0;
+    }
+
+    private static Map<String, Object> cursorParameters(String state, Short size, String after) {
+        return Map.of(
+                "state", state,
+                "size", size,
+                "after", after == null ? "" : after
+        );
+    }
 }
@@ -1,15 +1,23 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.aspect.ToLog;
 import ru.practicum.shareit.booking.dto.BookingSavingDto;
 import ru.practicum.shareit.validation.ValuesAllowedConstraint;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.util.Constant.*;
 
@@ -19,56 +27,94 @@ import static ru.practicum.shareit.util.Constant.*;
 @Validated
 @ToLog
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     private final BookingClient bookingClient;
 
     @PostMapping
-    public Object saveBooking(@Valid @RequestBody BookingSavingDto bookingSavingDto,
-                              @RequestHeader(USER_ID_HEADER) long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveBooking(@Valid @RequestBody BookingSavingDto bookingSavingDto,
+                                                              @RequestHeader(USER_ID_HEADER) long userId) {
         return bookingClient.saveBooking(bookingSavingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveBookings(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                               List<@Valid BookingSavingDto> bookingSavingDtos,
+                                                               @RequestHeader(USER_ID_HEADER) long userId) {
+        return bookingClient.saveBookings(bookingSavingDtos, userId);
+    }
+
     @GetMapping
-    public Object findAllBookingsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
-                                          @ValuesAllowedConstraint(propName = "state",
-                                                  values = {"all",
-                                                          "current",
-                                                          "past",
-                                                          "future",
-                                                          "waiting",
-                                                          "rejected"},
-                                                  message = "Unknown state: UNSUPPORTED_STATUS")
-                                          @RequestParam(defaultValue = "all") String state,
-                                          @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
-                                          @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size) {
-        return bookingClient.findAllBookingsByUserId(userId, state, from, size);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllBookingsByUserId(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @ValuesAllowedConstraint(propName = "state",
+                    values = {"all",
+                            "current",
+                            "past",
+                            "future",
+                            "waiting",
+                            "rejected"},
+                    message = "Unknown state: UNSUPPORTED_STATUS")
+            @RequestParam(defaultValue = "all") String state,
+            @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
+            @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size,
+            @RequestParam(required = false) String after) {
+        return bookingClient.findAllBookingsByUserId(userId, state, from, size, after);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportBookings(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @ValuesAllowedConstraint(propName = "state",
+                    values = {"all",
+                            "current",
+                            "past",
+                            "future",
+                            "waiting",
+                            "rejected"},
+                    message = "Unknown state: UNSUPPORTED_STATUS")
+            @RequestParam(defaultValue = "all") String state) {
+        return bookingClient.exportBookings(userId, state);
     }
 
     @PatchMapping("/{bookingId}")
-    public Object updateAvailableStatus(@PathVariable long bookingId,
-                                        @RequestParam(required = false) Boolean approved,
-                                        @RequestHeader(USER_ID_HEADER) long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateAvailableStatus(
+            @PathVariable long bookingId,
+            @RequestParam(required = false) Boolean approved,
+            @RequestHeader(USER_ID_HEADER) long userId) {
         return bookingClient.updateAvailableStatus(bookingId, approved, userId);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateAvailableStatuses(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull Long> bookingIds,
+            @RequestParam boolean approved,
+            @RequestHeader(USER_ID_HEADER) long userId) {
+        return bookingClient.updateAvailableStatuses(bookingIds, approved, userId);
+    }
+
     @GetMapping("/{bookingId}")
-    public Object findBookingByUserOwner(@PathVariable long bookingId,
-                                         @RequestHeader(value = USER_ID_HEADER) long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findBookingByUserOwner(
+            @PathVariable long bookingId,
+            @RequestHeader(value = USER_ID_HEADER) long userId) {
         return bookingClient.findBookingByUserOwner(bookingId, userId);
     }
 
     @GetMapping("/owner")
-    public Object findOwnerBookings(@RequestHeader(USER_ID_HEADER) long userId,
-                                    @ValuesAllowedConstraint(propName = "state",
-                                            values = {"all",
-                                                    "current",
-                                                    "past",
-                                                    "future",
-                                                    "waiting",
-                                                    "rejected"},
-                                            message = "Unknown state: UNSUPPORTED_STATUS")
-                                    @RequestParam(defaultValue = "all") String state,
-                                    @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
-                                    @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size) {
-        return bookingClient.findOwnerBookings(userId, state, from, size);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findOwnerBookings(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @ValuesAllowedConstraint(propName = "state",
+                    values = {"all",
+                            "current",
+                            "past",
+                            "future",
+                            "waiting",
+                            "rejected"},
+                    message = "Unknown state: UNSUPPORTED_STATUS")
+            @RequestParam(defaultValue = "all") String state,
+            @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
+            @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size,
+            @RequestParam(required = false) String after) {
+        return bookingClient.findOwnerBookings(userId, state, from, size, after);
     }
 }
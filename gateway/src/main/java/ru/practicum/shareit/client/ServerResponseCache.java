@@ -0,0 +1,103 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class ServerResponseCache {
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final Cache<Key, CachedResponse> cache;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ServerResponseCache(@Value("${shareit-server.cache.max-size:32MB}") DataSize maxSize,
+                               @Value("${shareit-server.cache.ttl:10s}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, CachedResponse response) -> ENTRY_OVERHEAD + response.body().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "shareit-server-responses");
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, @Nullable Long userId,
+                                                      Supplier<Mono<ResponseEntity<Flux<DataBuffer>>>> loader) {
+        Key key = new Key(path, userId);
+        return Mono.defer(() -> {
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached.toResponseEntity());
+            }
+
+            long generation = evictions.get();
+            return loader.get().flatMap(shareitServerResponse -> {
+                if (shareitServerResponse.getStatusCode() != HttpStatus.OK) {
+                    return Mono.just(shareitServerResponse);
+                }
+
+                return DataBufferUtils.join(shareitServerResponse.getBody())
+                        .map(ServerResponseCache::toBytes)
+                        .defaultIfEmpty(new byte[0])
+                        .map(body -> {
+                            CachedResponse response = new CachedResponse(shareitServerResponse.getStatusCode(),
+                                    shareitServerResponse.getHeaders(), body);
+                            if (evictions.get() == generation) {
+                                cache.put(key, response);
+                                if (evictions.get() != generation) {
+                                    cache.asMap().remove(key, response);
+                                }
+                            }
+                            return response.toResponseEntity();
+                        });
+            });
+        });
+    }
+
+    public void evict(String path) {
+        evictions.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.path().equals(path));
+    }
+
+    public void evictAll(String pathPrefix) {
+        evictions.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.path().startsWith(pathPrefix));
+    }
+
+    private static byte[] toBytes(DataBuffer dataBuffer) {
+        byte[] bytes = new byte[dataBuffer.readableByteCount()];
+        dataBuffer.read(bytes);
+        DataBufferUtils.release(dataBuffer);
+        return bytes;
+    }
+
+    private record Key(String path, @Nullable Long userId) {
+    }
+
+    private record CachedResponse(HttpStatus status, HttpHeaders headers, byte[] body) {
+        ResponseEntity<Flux<DataBuffer>> toResponseEntity() {
+            return ResponseEntity.status(status)
+                    .headers(headers)
+                    .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class ServerTransportConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(
+            @Value("${shareit-server.http.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.http.max-pending:10000}") int maxPending,
+            @Value("${shareit-server.http.lease-timeout:2s}") Duration leaseTimeout,
+            @Value("${shareit-server.http.keep-alive:30s}") Duration keepAlive,
+            @Value("${shareit-server.http.max-idle:30s}") Duration maxIdle) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(leaseTimeout)
+                .maxLifeTime(keepAlive)
+                .maxIdleTime(maxIdle)
+                .evictInBackground(maxIdle)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector serverHttpConnector(
+            ConnectionProvider serverConnectionProvider,
+            @Value("${shareit-server.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout:30s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -2,13 +2,15 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
+import java.util.Date;
 import java.util.Map;
 
 import static ru.practicum.shareit.util.Constant.ERROR_RESPONSE;
@@ -24,9 +26,19 @@ public class ErrorHandler {
         return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, Object> handleWebExchangeBindException(final WebExchangeBindException e,
+                                                              final ServerWebExchange exchange) {
+        log.debug("Получен статус 400 Bad request {}", e.getMessage(), e);
+        return Map.of("timestamp", new Date(),
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "error", HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                "path", exchange.getRequest().getPath().value());
+    }
+
     @ExceptionHandler({ConstraintViolationException.class,
-            IllegalAccessError.class,
-            MethodArgumentNotValidException.class})
+            IllegalAccessError.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> catchConstraintViolationException(final ConstraintViolationException e) {
         log.debug("Получен статус 500 Internal server error {}", e.getMessage(), e);
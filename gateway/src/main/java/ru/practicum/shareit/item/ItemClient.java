@@ -2,44 +2,59 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequestClient;
 
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
-    private static final String API_PREFIX = "/items";
+    public static final String API_PREFIX = "/items";
+
+    private final ServerResponseCache responseCache;
 
     @Autowired
-    public ItemClient (@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ServerResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> saveItem(ItemDto itemDto, long userId) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveItem(ItemDto itemDto, long userId) {
+        return post("", userId, itemDto)
+                .doFinally(signal -> {
+                    if (itemDto.getRequestId() != null) {
+                        responseCache.evict(ItemRequestClient.API_PREFIX + "/" + itemDto.getRequestId());
+                    }
+                });
     }
 
-    public ResponseEntity<Object> updateItem(ItemDto itemDto, long userId, long itemId) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(ItemDto itemDto, long userId, long itemId) {
+        return patch("/" + itemId, userId, itemDto)
+                .doFinally(signal -> {
+                    responseCache.evict(API_PREFIX + "/" + itemId);
+                    responseCache.evictAll(ItemRequestClient.API_PREFIX + "/");
+                });
     }
 
-    public ResponseEntity<Object> findItemById(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findItemById(long userId, long itemId) {
+        return responseCache.get(API_PREFIX + "/" + itemId, userId, () -> get("/" + itemId, userId));
     }
 
-    public ResponseEntity<Object> findItemsByUserId(long userId, Short from, Short size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findItemsByUserId(long userId, Short from, Short size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -47,7 +62,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchByText(String text, long userId, Short from, Short size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchByText(String text, long userId, Short from, Short size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -56,7 +71,9 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> saveComment(long itemId, long userId, CommentRequestDto commentRequestDto) {
-        return post("/" + itemId + "/comment", userId, commentRequestDto);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveComment(long itemId, long userId,
+                                                              CommentRequestDto commentRequestDto) {
+        return post("/" + itemId + "/comment", userId, commentRequestDto)
+                .doFinally(signal -> responseCache.evict(API_PREFIX + "/" + itemId));
     }
 }
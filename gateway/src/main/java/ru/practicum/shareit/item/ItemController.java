@@ -1,8 +1,14 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.aspect.ToLog;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -11,7 +17,7 @@ import ru.practicum.shareit.validation.Update;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 
 import static ru.practicum.shareit.util.Constant.*;
 
@@ -21,48 +27,55 @@ import static ru.practicum.shareit.util.Constant.*;
 @Validated
 @ToLog
 public class ItemController {
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.UTF_8);
+
     private final ItemClient itemClient;
 
     @PostMapping
-    public Object saveItem(@Validated(Create.class) @RequestBody ItemDto itemDto,
-                           @RequestHeader(USER_ID_HEADER) long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveItem(@Validated(Create.class) @RequestBody ItemDto itemDto,
+                                                           @RequestHeader(USER_ID_HEADER) long userId) {
         return itemClient.saveItem(itemDto, userId);
     }
 
     @PatchMapping("/{itemId}")
-    public Object updateItem(@Validated(Update.class) @RequestBody ItemDto itemDto,
-                             @RequestHeader(USER_ID_HEADER) long userId,
-                             @PathVariable long itemId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(@Validated(Update.class) @RequestBody ItemDto itemDto,
+                                                             @RequestHeader(USER_ID_HEADER) long userId,
+                                                             @PathVariable long itemId) {
         return itemClient.updateItem(itemDto, userId, itemId);
     }
 
     @GetMapping("/{itemId}")
-    public Object findItemById(@RequestHeader(USER_ID_HEADER) long userId,
-                               @PathVariable long itemId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findItemById(@RequestHeader(USER_ID_HEADER) long userId,
+                                                               @PathVariable long itemId) {
         return itemClient.findItemById(userId, itemId);
     }
 
     @GetMapping
-    public Object findItemsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
-                                    @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
-                                    @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findItemsByUserId(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
+            @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size) {
         return itemClient.findItemsByUserId(userId, from, size);
     }
 
     @GetMapping("/search")
-    public Object searchByText(@RequestParam(name = "text") String text,
-                               @RequestHeader(USER_ID_HEADER) long userId,
-                               @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
-                               @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchByText(
+            @RequestParam(name = "text") String text,
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
+            @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size) {
         if (text.isBlank()) {
-            return Collections.emptyList();
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(EMPTY_LIST))));
         }
         return itemClient.searchByText(text, userId, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public Object saveComment(@PathVariable long itemId, @RequestHeader(USER_ID_HEADER) long userId,
-                              @RequestBody CommentRequestDto commentRequestDto) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveComment(@PathVariable long itemId,
+                                                              @RequestHeader(USER_ID_HEADER) long userId,
+                                                              @RequestBody CommentRequestDto commentRequestDto) {
         return itemClient.saveComment(itemId, userId, commentRequestDto);
     }
 }
@@ -2,39 +2,44 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
 import java.util.Map;
 
 @Service
 public class ItemRequestClient extends BaseClient {
-    private static final String API_PREFIX = "/requests";
+    public static final String API_PREFIX = "/requests";
+
+    private final ServerResponseCache responseCache;
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ServerResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> saveItemRequest(ItemRequestRequestDto dto, long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveItemRequest(ItemRequestRequestDto dto, long userId) {
         return post("", userId, dto);
     }
 
-    public ResponseEntity<Object> findOwnItemRequests(long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findOwnItemRequests(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAllItemRequests(long userId, Short from, Short size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllItemRequests(long userId, Short from, Short size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +47,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all/?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findItemRequestsById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findItemRequestsById(long userId, long requestId) {
+        return responseCache.get(API_PREFIX + "/" + requestId, userId, () -> get("/" + requestId, userId));
     }
 }
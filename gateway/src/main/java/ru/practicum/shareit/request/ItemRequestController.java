@@ -1,8 +1,12 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.aspect.ToLog;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
@@ -21,26 +25,27 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public Object saveItemRequest(@Valid @RequestBody ItemRequestRequestDto dto,
-                                  @RequestHeader(USER_ID_HEADER) long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveItemRequest(@Valid @RequestBody ItemRequestRequestDto dto,
+                                                                  @RequestHeader(USER_ID_HEADER) long userId) {
         return itemRequestClient.saveItemRequest(dto, userId);
     }
 
     @GetMapping
-    public Object findOwnItemRequests(@RequestHeader(USER_ID_HEADER) long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findOwnItemRequests(@RequestHeader(USER_ID_HEADER) long userId) {
         return itemRequestClient.findOwnItemRequests(userId);
     }
 
     @GetMapping("/all")
-    public Object findAllItemRequests(@RequestHeader(USER_ID_HEADER) long userId,
-                                      @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
-                                      @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllItemRequests(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam(defaultValue = PAGE_DEFAULT_FROM) @PositiveOrZero Short from,
+            @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) @Positive Short size) {
         return itemRequestClient.findAllItemRequests(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public Object findItemRequestById(@RequestHeader(USER_ID_HEADER) long userId,
-                                      @PathVariable long requestId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findItemRequestById(@RequestHeader(USER_ID_HEADER) long userId,
+                                                                      @PathVariable long requestId) {
         return itemRequestClient.findItemRequestsById(userId, requestId);
     }
 }
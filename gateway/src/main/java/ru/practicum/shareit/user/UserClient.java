@@ -2,45 +2,77 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
+    private final ServerResponseCache responseCache;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ServerResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> saveUser(UserDto userDto) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto userDto, long userId) {
-        return patch("/" + userId, userDto);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(UserDto userDto, long userId) {
+        return patch("/" + userId, userDto)
+                .doFinally(signal -> {
+                    responseCache.evict(API_PREFIX + "/" + userId);
+                    responseCache.evictAll(ItemClient.API_PREFIX + "/");
+                    responseCache.evictAll(ItemRequestClient.API_PREFIX + "/");
+                });
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findUserById(long id) {
+        return responseCache.get(API_PREFIX + "/" + id, null, () -> get("/" + id));
     }
 
-    public ResponseEntity<Object> findUserById(long id) {
-        return get("/" + id);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findUsers(long after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+
+        return get("?after={after}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> findAllUsers() {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllUsers() {
         return get("");
     }
 
-    public void deleteUserById(long id) {
-        delete("/" + id);
+    public Mono<Void> deleteUserById(long id) {
+        return delete("/" + id)
+                .flatMapMany(ResponseEntity::getBody)
+                .map(DataBufferUtils::release)
+                .then()
+                .doFinally(signal -> {
+                    responseCache.evict(API_PREFIX + "/" + id);
+                    responseCache.evictAll(ItemClient.API_PREFIX + "/");
+                    responseCache.evictAll(ItemRequestClient.API_PREFIX + "/");
+                });
     }
 }
@@ -1,13 +1,20 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.aspect.ToLog;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.validation.Create;
 import ru.practicum.shareit.validation.Update;
 
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -17,32 +24,37 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public Object saveUser(@Validated(Create.class) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveUser(@Validated(Create.class) @RequestBody UserDto userDto) {
         return userClient.saveUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public Object updateUser(@Validated(Update.class) @RequestBody UserDto userDto, @PathVariable long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(@Validated(Update.class) @RequestBody UserDto userDto,
+                                                             @PathVariable long userId) {
         return userClient.updateUser(userDto, userId);
     }
 
     @GetMapping("/{id}")
-    public Object findUserById(@PathVariable long id) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findUserById(@PathVariable long id) {
         return userClient.findUserById(id);
     }
 
+    @GetMapping(params = "size")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findUsers(
+            @RequestParam(defaultValue = "0") @PositiveOrZero long after,
+            @RequestParam @Positive int size) {
+        return userClient.findUsers(after, size);
+    }
+
     @GetMapping
-    public Object findAllUsers() {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllUsers() {
         return userClient.findAllUsers();
     }
 
     @DeleteMapping("/{id}")
-    public Object deleteUserById(@PathVariable long id) {
-        try {
-            userClient.deleteUserById(id);
-            return "User deleted successfully";
-        } catch (Exception e) {
-            return "Error deleting user";
-        }
+    public Mono<String> deleteUserById(@PathVariable long id) {
+        return userClient.deleteUserById(id)
+                .thenReturn("User deleted successfully")
+                .onErrorReturn("Error deleting user");
     }
 }
@@ -0,0 +1,178 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static ru.practicum.shareit.util.Constant.ERROR_RESPONSE;
+import static ru.practicum.shareit.util.Constant.USER_ID_HEADER;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GatewayIntegrationTests {
+    private static final String NOT_FOUND_BODY =
+            "{\"status\":\"404 NOT_FOUND\",\"message\":\"Пользователь 404 не найден.\"}";
+    private static final String SERVER_ERROR_BODY =
+            "{\"status\":\"500 INTERNAL_SERVER_ERROR\",\"message\":\"Ошибка\"}";
+    private static final int EXPORT_LINES = 200_000;
+
+    private static final AtomicInteger serverRequests = new AtomicInteger();
+    private static DisposableServer server;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/users/404", (request, response) -> {
+                            serverRequests.incrementAndGet();
+                            return response.status(HttpStatus.NOT_FOUND.value())
+                                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                    .sendString(Flux.just(NOT_FOUND_BODY), StandardCharsets.UTF_8);
+                        })
+                        .get("/items/500", (request, response) -> {
+                            serverRequests.incrementAndGet();
+                            return response.status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                    .sendString(Flux.just(SERVER_ERROR_BODY), StandardCharsets.UTF_8);
+                        })
+                        .get("/bookings/export", (request, response) -> {
+                            serverRequests.incrementAndGet();
+                            return response.header("Content-Type", MediaType.APPLICATION_NDJSON_VALUE)
+                                    .sendString(Flux.range(0, EXPORT_LINES).map(GatewayIntegrationTests::exportLine),
+                                            StandardCharsets.UTF_8);
+                        }))
+                .bindNow();
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @BeforeEach
+    void init() {
+        serverRequests.set(0);
+    }
+
+    @Test
+    void shouldRejectInvalidBodyWithoutCallingServer() {
+        webTestClient.post()
+                .uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"user\",\"email\":\"not an email\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(HttpStatus.BAD_REQUEST.value())
+                .jsonPath("$.path").isEqualTo("/users");
+
+        assertThat(serverRequests.get(), equalTo(0));
+    }
+
+    @Test
+    void shouldRejectConstraintViolationWithoutCallingServer() {
+        webTestClient.get()
+                .uri("/bookings/export?state=unknown")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$." + ERROR_RESPONSE).isEqualTo("Unknown state: UNSUPPORTED_STATUS");
+
+        webTestClient.get()
+                .uri("/items?from=-1")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertThat(serverRequests.get(), equalTo(0));
+    }
+
+    @Test
+    void shouldPassServerClientErrorThrough() {
+        webTestClient.get()
+                .uri("/users/404")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo(NOT_FOUND_BODY);
+
+        assertThat(serverRequests.get(), equalTo(1));
+    }
+
+    @Test
+    void shouldPassServerErrorThroughWithoutCaching() {
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get()
+                    .uri("/items/500")
+                    .header(USER_ID_HEADER, "1")
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .expectBody(String.class).isEqualTo(SERVER_ERROR_BODY);
+        }
+
+        assertThat(serverRequests.get(), equalTo(2));
+    }
+
+    @Test
+    void shouldStreamServerBodyWithoutBuffering() {
+        CRC32 expected = new CRC32();
+        long expectedBytes = 0;
+        for (int i = 0; i < EXPORT_LINES; i++) {
+            byte[] line = exportLine(i).getBytes(StandardCharsets.UTF_8);
+            expected.update(line);
+            expectedBytes += line.length;
+        }
+
+        CRC32 actual = new CRC32();
+        AtomicLong actualBytes = new AtomicLong();
+        webTestClient.get()
+                .uri("/bookings/export")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(DataBuffer.class)
+                .getResponseBody()
+                .doOnNext(dataBuffer -> {
+                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                    dataBuffer.read(bytes);
+                    actual.update(bytes);
+                    actualBytes.addAndGet(bytes.length);
+                })
+                .map(DataBufferUtils::release)
+                .blockLast();
+
+        assertThat(actualBytes.get(), equalTo(expectedBytes));
+        assertThat(actual.getValue(), equalTo(expected.getValue()));
+    }
+
+    private static String exportLine(int id) {
+        return "{\"id\":" + id + ",\"status\":\"APPROVED\",\"item\":{\"name\":\"Дрель\"},\"padding\":\""
+                + "x".repeat(64) + "\"}\n";
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static ru.practicum.shareit.util.Constant.USER_ID_HEADER;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayProxyBenchmark {
+    private static final long USER_ID = 1;
+
+    @Param({"10", "1000"})
+    private int bookings;
+
+    private WebClient webClient;
+    private ProxyClient client;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        String body = IntStream.rangeClosed(1, bookings)
+                .mapToObj(id -> String.format("{\"id\":%d,\"start\":\"2030-01-01T10:00:00\"," +
+                        "\"end\":\"2030-01-02T10:00:00\",\"item\":{\"id\":%d,\"name\":\"item %d\"}," +
+                        "\"booker\":{\"id\":2},\"status\":\"WAITING\"}", id, id, id))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(body)
+                        .build()))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+                .build();
+        client = new ProxyClient(webClient);
+        objectMapper = new ObjectMapper();
+    }
+
+    @Benchmark
+    public long materialized() throws IOException {
+        Object shareitServerResponse = webClient.get()
+                .uri("/bookings")
+                .header(USER_ID_HEADER, String.valueOf(USER_ID))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(Object.class)
+                .block();
+
+        objectMapper.writeValue(OutputStream.nullOutputStream(), shareitServerResponse);
+        return 1;
+    }
+
+    @Benchmark
+    public long streamed() {
+        return client.findBookings()
+                .flatMapMany(ResponseEntity::getBody)
+                .map(dataBuffer -> {
+                    int written = dataBuffer.readableByteCount();
+                    DataBufferUtils.release(dataBuffer);
+                    return written;
+                })
+                .count()
+                .block();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GatewayProxyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    private static class ProxyClient extends BaseClient {
+        ProxyClient(WebClient webClient) {
+            super(webClient);
+        }
+
+        Mono<ResponseEntity<Flux<DataBuffer>>> findBookings() {
+            return get("/bookings", USER_ID);
+        }
+    }
+}
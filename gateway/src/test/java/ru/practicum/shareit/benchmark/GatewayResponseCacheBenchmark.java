@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayResponseCacheBenchmark {
+    private static final String BODY = "{\"id\":1,\"name\":\"item\",\"description\":\"description\",\"available\":true," +
+            "\"lastBooking\":{\"id\":1,\"bookerId\":2},\"nextBooking\":null,\"comments\":[]}";
+    private static final Duration SERVER_LATENCY = Duration.ofMillis(2);
+    private static final int ITEMS = 50;
+    private static final int VIEWERS = 4;
+
+    private DisposableServer server;
+    private ItemClient cachedClient;
+    private ProxyClient uncachedClient;
+
+    @Setup
+    public void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/items/{id}", (request, response) -> response
+                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.delay(SERVER_LATENCY).thenReturn(BODY))))
+                .bindNow();
+        String serverUrl = "http://localhost:" + server.port();
+
+        cachedClient = new ItemClient(serverUrl, WebClient.builder(),
+                new ServerResponseCache(DataSize.ofMegabytes(32), Duration.ofSeconds(10), new SimpleMeterRegistry()));
+        uncachedClient = new ProxyClient(WebClient.builder().baseUrl(serverUrl + ItemClient.API_PREFIX).build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public long uncached() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return drain(uncachedClient.findItemById(random.nextInt(VIEWERS) + 1, random.nextInt(ITEMS) + 1));
+    }
+
+    @Benchmark
+    public long cached() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return drain(cachedClient.findItemById(random.nextInt(VIEWERS) + 1, random.nextInt(ITEMS) + 1));
+    }
+
+    private static long drain(Mono<ResponseEntity<Flux<DataBuffer>>> response) {
+        return response.flatMapMany(ResponseEntity::getBody)
+                .map(dataBuffer -> {
+                    int read = dataBuffer.readableByteCount();
+                    DataBufferUtils.release(dataBuffer);
+                    return read;
+                })
+                .count()
+                .block();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GatewayResponseCacheBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    private static class ProxyClient extends BaseClient {
+        ProxyClient(WebClient webClient) {
+            super(webClient);
+        }
+
+        Mono<ResponseEntity<Flux<DataBuffer>>> findItemById(long userId, long itemId) {
+            return get("/" + itemId, userId);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.client.ServerTransportConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayTransportBenchmark {
+    private static final String BODY = "{\"id\":1,\"name\":\"name\",\"email\":\"email@email.ru\"}";
+    private static final Duration SERVER_LATENCY = Duration.ofMillis(50);
+
+    @Param({"blocking", "reactive"})
+    private String transport;
+
+    @Param({"200", "2000"})
+    private int callers;
+
+    private DisposableServer server;
+    private ExecutorService callerThreads;
+    private RestTemplate rest;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("http.maxConnections", String.valueOf(callers));
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/users/{id}", (request, response) -> response
+                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.delay(SERVER_LATENCY).thenReturn(BODY))))
+                .bindNow();
+        String serverUrl = "http://localhost:" + server.port();
+
+        if ("blocking".equals(transport)) {
+            callerThreads = Executors.newFixedThreadPool(callers);
+            rest = new RestTemplate();
+            rest.setUriTemplateHandler(new DefaultUriBuilderFactory(serverUrl));
+        } else {
+            ServerTransportConfig config = new ServerTransportConfig();
+            connectionProvider = config.serverConnectionProvider(200, 10_000, Duration.ofSeconds(2),
+                    Duration.ofSeconds(30), Duration.ofSeconds(30));
+            webClient = WebClient.builder()
+                    .baseUrl(serverUrl)
+                    .clientConnector(config.serverHttpConnector(connectionProvider, Duration.ofSeconds(2),
+                            Duration.ofSeconds(30)))
+                    .build();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (callerThreads != null) {
+            callerThreads.shutdownNow();
+        }
+        if (connectionProvider != null) {
+            connectionProvider.disposeLater().block();
+        }
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public int findUsers() throws Exception {
+        if ("blocking".equals(transport)) {
+            List<Future<String>> responses = new ArrayList<>(callers);
+            for (int i = 0; i < callers; i++) {
+                responses.add(callerThreads.submit(() -> rest.getForObject("/users/1", String.class)));
+            }
+            for (Future<String> response : responses) {
+                response.get();
+            }
+            return responses.size();
+        }
+
+        return Flux.range(0, callers)
+                .flatMap(i -> webClient.get()
+                        .uri("/users/1")
+                        .retrieve()
+                        .bodyToMono(String.class), callers)
+                .count()
+                .map(Long::intValue)
+                .block();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GatewayTransportBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.client.ServerResponseCache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BookingClientTests {
+    @Mock
+    private ServerResponseCache mockResponseCache;
+
+    private BookingClient bookingClient;
+
+    private BookingSavingDto bookingSavingDto;
+
+    @BeforeEach
+    void init() {
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("{}").build()));
+        bookingClient = new BookingClient("http://localhost", builder, mockResponseCache);
+        bookingSavingDto = BookingSavingDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+    }
+
+    @Test
+    void shouldNotEvictItemsOnSaveBooking() {
+        bookingClient.saveBooking(bookingSavingDto, 1L).block();
+        bookingClient.saveBookings(List.of(bookingSavingDto), 1L).block();
+
+        verifyNoInteractions(mockResponseCache);
+    }
+
+    @Test
+    void shouldEvictItemsOnStatusUpdate() {
+        bookingClient.updateAvailableStatus(1L, true, 1L).block();
+        bookingClient.updateAvailableStatuses(List.of(1L, 2L), false, 1L).block();
+
+        verify(mockResponseCache, times(2)).evictAll("/items/");
+    }
+}
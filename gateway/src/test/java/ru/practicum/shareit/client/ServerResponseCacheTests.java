@@ -0,0 +1,140 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ServerResponseCacheTests {
+    private ServerResponseCache responseCache;
+
+    @BeforeEach
+    void init() {
+        responseCache = new ServerResponseCache(DataSize.ofMegabytes(1), Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldServeRepeatedRequestFromCache() {
+        CountingLoader loader = new CountingLoader(HttpStatus.OK, "item");
+
+        assertThat(body(responseCache.get("/items/1", 1L, loader)), equalTo("item"));
+        assertThat(body(responseCache.get("/items/1", 1L, loader)), equalTo("item"));
+
+        assertThat(loader.calls.get(), equalTo(1));
+    }
+
+    @Test
+    void shouldKeepResponsesOfDifferentUsersApart() {
+        CountingLoader ownerLoader = new CountingLoader(HttpStatus.OK, "owner view");
+        CountingLoader viewerLoader = new CountingLoader(HttpStatus.OK, "viewer view");
+
+        assertThat(body(responseCache.get("/items/1", 1L, ownerLoader)), equalTo("owner view"));
+        assertThat(body(responseCache.get("/items/1", 2L, viewerLoader)), equalTo("viewer view"));
+        assertThat(body(responseCache.get("/items/1", 1L, ownerLoader)), equalTo("owner view"));
+
+        assertThat(ownerLoader.calls.get(), equalTo(1));
+        assertThat(viewerLoader.calls.get(), equalTo(1));
+    }
+
+    @Test
+    void shouldNotCacheErrorResponses() {
+        CountingLoader loader = new CountingLoader(HttpStatus.NOT_FOUND, "{\"message\":\"not found\"}");
+
+        ResponseEntity<Flux<DataBuffer>> response = responseCache.get("/items/1", 1L, loader).block();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        response.getBody().map(DataBufferUtils::release).blockLast();
+
+        responseCache.get("/items/1", 1L, loader).block().getBody().map(DataBufferUtils::release).blockLast();
+
+        assertThat(loader.calls.get(), equalTo(2));
+    }
+
+    @Test
+    void shouldNotStoreResponseLoadedBeforeEviction() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Mono<ResponseEntity<Flux<DataBuffer>>>> racingLoader = () -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            responseCache.evict("/items/1");
+            return response(HttpStatus.OK, "stale");
+        });
+
+        assertThat(body(responseCache.get("/items/1", 1L, racingLoader)), equalTo("stale"));
+        assertThat(body(responseCache.get("/items/1", 1L, racingLoader)), equalTo("stale"));
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void shouldEvictByPathAndPrefix() {
+        CountingLoader itemLoader = new CountingLoader(HttpStatus.OK, "item");
+        CountingLoader otherItemLoader = new CountingLoader(HttpStatus.OK, "other item");
+        CountingLoader requestLoader = new CountingLoader(HttpStatus.OK, "request");
+
+        body(responseCache.get("/items/1", 1L, itemLoader));
+        body(responseCache.get("/items/2", 1L, otherItemLoader));
+        body(responseCache.get("/requests/1", 1L, requestLoader));
+
+        responseCache.evict("/items/1");
+        body(responseCache.get("/items/1", 1L, itemLoader));
+        body(responseCache.get("/items/2", 1L, otherItemLoader));
+
+        responseCache.evictAll("/items/");
+        body(responseCache.get("/items/1", 1L, itemLoader));
+        body(responseCache.get("/items/2", 1L, otherItemLoader));
+        body(responseCache.get("/requests/1", 1L, requestLoader));
+
+        assertThat(itemLoader.calls.get(), equalTo(3));
+        assertThat(otherItemLoader.calls.get(), equalTo(2));
+        assertThat(requestLoader.calls.get(), equalTo(1));
+    }
+
+    private static String body(Mono<ResponseEntity<Flux<DataBuffer>>> response) {
+        return response.flatMap(entity -> DataBufferUtils.join(entity.getBody()))
+                .map(dataBuffer -> {
+                    String body = dataBuffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(dataBuffer);
+                    return body;
+                })
+                .block();
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> response(HttpStatus status, String body) {
+        return ResponseEntity.status(status)
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static class CountingLoader implements Supplier<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final HttpStatus status;
+        private final String body;
+
+        CountingLoader(HttpStatus status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        @Override
+        public Mono<ResponseEntity<Flux<DataBuffer>>> get() {
+            return Mono.fromSupplier(() -> {
+                calls.incrementAndGet();
+                return response(status, body);
+            });
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ItemClientTests {
+    @Mock
+    private ServerResponseCache mockResponseCache;
+
+    private ItemClient itemClient;
+
+    private ItemDto itemDto;
+
+    @BeforeEach
+    void init() {
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("{}").build()));
+        itemClient = new ItemClient("http://localhost", builder, mockResponseCache);
+        itemDto = ItemDto.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+    }
+
+    @Test
+    void shouldEvictAnsweredRequestOnSaveItem() {
+        itemDto.setRequestId(5L);
+
+        itemClient.saveItem(itemDto, 1L).block();
+
+        verify(mockResponseCache).evict("/requests/5");
+        verifyNoMoreInteractions(mockResponseCache);
+    }
+
+    @Test
+    void shouldNotEvictAnythingOnSaveItemWithoutRequest() {
+        itemClient.saveItem(itemDto, 1L).block();
+
+        verifyNoInteractions(mockResponseCache);
+    }
+
+    @Test
+    void shouldEvictItemAndRequestsOnUpdateItem() {
+        itemClient.updateItem(itemDto, 1L, 2L).block();
+
+        verify(mockResponseCache).evict("/items/2");
+        verify(mockResponseCache).evictAll("/requests/");
+    }
+
+    @Test
+    void shouldEvictItemOnSaveComment() {
+        itemClient.saveComment(2L, 1L, new CommentRequestDto("text")).block();
+
+        verify(mockResponseCache).evict("/items/2");
+        verifyNoMoreInteractions(mockResponseCache);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserClientTests {
+    @Mock
+    private ServerResponseCache mockResponseCache;
+
+    private UserClient userClient;
+
+    @BeforeEach
+    void init() {
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("{}").build()));
+        userClient = new UserClient("http://localhost", builder, mockResponseCache);
+    }
+
+    @Test
+    void shouldEvictUserAndResponsesEmbeddingUserOnUpdate() {
+        userClient.updateUser(UserDto.builder().name("new name").build(), 1L).block();
+
+        verify(mockResponseCache).evict("/users/1");
+        verify(mockResponseCache).evictAll("/items/");
+        verify(mockResponseCache).evictAll("/requests/");
+    }
+
+    @Test
+    void shouldEvictUserItemsAndRequestsOnDelete() {
+        userClient.deleteUserById(1L).block();
+
+        verify(mockResponseCache).evict("/users/1");
+        verify(mockResponseCache).evictAll("/items/");
+        verify(mockResponseCache).evictAll("/requests/");
+    }
+}
@@ -0,0 +1,31 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+public class V5__create_booking_sequence extends BaseJavaMigration {
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM bookings")) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+
+            // pooled-оптимизатор Hibernate выдает диапазон (value - allocationSize, value]
+            statement.execute(String.format("CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH %d INCREMENT BY %d",
+                    maxId + ALLOCATION_SIZE, ALLOCATION_SIZE));
+
+            // вставки без id должны брать значения из той же последовательности, иначе IDENTITY выдаст id,
+            // уже зарезервированные Hibernate
+            statement.execute("ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY");
+            statement.execute("ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('booking_seq')");
+        }
+    }
+}
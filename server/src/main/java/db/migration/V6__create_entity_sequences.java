@@ -0,0 +1,38 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+public class V6__create_entity_sequences extends BaseJavaMigration {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users", "user_seq",
+            "item_requests", "item_request_seq",
+            "items", "item_seq",
+            "comments", "comment_seq"
+    );
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (Map.Entry<String, String> sequence : SEQUENCES.entrySet()) {
+                long maxId;
+                try (ResultSet resultSet = statement.executeQuery(
+                        String.format("SELECT COALESCE(MAX(id), 0) FROM %s", sequence.getKey()))) {
+                    resultSet.next();
+                    maxId = resultSet.getLong(1);
+                }
+
+                statement.execute(String.format("CREATE SEQUENCE IF NOT EXISTS %s START WITH %d INCREMENT BY %d",
+                        sequence.getValue(), maxId + ALLOCATION_SIZE, ALLOCATION_SIZE));
+                statement.execute(String.format("ALTER TABLE %s ALTER COLUMN id DROP IDENTITY", sequence.getKey()));
+                statement.execute(String.format("ALTER TABLE %s ALTER COLUMN id SET DEFAULT nextval('%s')",
+                        sequence.getKey(), sequence.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class V7__add_users_email_normalized extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        boolean postgres = "PostgreSQL".equals(context.getConnection().getMetaData().getDatabaseProductName());
+
+        try (Statement statement = context.getConnection().createStatement()) {
+            List<String> duplicates = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery("SELECT LOWER(email) FROM users " +
+                    "GROUP BY LOWER(email) HAVING COUNT(*) > 1 ORDER BY LOWER(email)")) {
+                while (resultSet.next()) {
+                    duplicates.add(resultSet.getString(1));
+                }
+            }
+            if (!duplicates.isEmpty()) {
+                throw new FlywayException(String.format("Найдены email, отличающиеся только регистром: %s. " +
+                        "Исправьте email этих пользователей и повторите миграцию.", duplicates));
+            }
+
+            statement.execute("ALTER TABLE users ADD COLUMN email_normalized VARCHAR(255) " +
+                    "GENERATED ALWAYS AS (LOWER(email))" + (postgres ? " STORED" : ""));
+            statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_users_email_normalized " +
+                    "ON users (email_normalized)");
+        }
+    }
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 @Table(name = "bookings", schema = "public")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date")
@@ -39,4 +40,7 @@ public class Booking {
 
     @Enumerated(EnumType.STRING)
     private Status status;
+
+    @Version
+    private long version;
 }
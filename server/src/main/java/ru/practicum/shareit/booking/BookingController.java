@@ -1,15 +1,26 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.aspect.ToLog;
 import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
 import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateResultDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.util.OffsetBasedPageRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.util.Constant.*;
@@ -20,6 +31,7 @@ import static ru.practicum.shareit.util.Constant.*;
 @ToLog
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingAllFieldsDto saveBooking(@RequestBody BookingSavingDto bookingSavingDto,
@@ -33,16 +45,50 @@ public class BookingController {
         return BookingMapper.INSTANCE.mapToBookingAllFieldsDto(booking);
     }
 
+    @PostMapping("/batch")
+    public Collection<BookingAllFieldsDto> saveBookings(@RequestBody List<BookingSavingDto> bookingSavingDtos,
+                                                        @RequestHeader(USER_ID_HEADER) long userId) {
+        return mapToDto(bookingService.saveAll(bookingSavingDtos, userId));
+    }
+
     @GetMapping
-    public Collection<BookingAllFieldsDto> findAllBookingsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
-                                                                   @RequestParam(defaultValue = "all") String state,
-                                                                   @RequestParam(defaultValue = PAGE_DEFAULT_FROM) int from,
-                                                                   @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) int size) {
+    public ResponseEntity<Collection<BookingAllFieldsDto>> findAllBookingsByUserId(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam(defaultValue = "all") String state,
+            @RequestParam(defaultValue = PAGE_DEFAULT_FROM) int from,
+            @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            return toCursorPage(bookingService.findByUserId(userId, state, decodeCursor(after), size), size);
+        }
+
         Pageable page = new OffsetBasedPageRequest(from, size, SORT_BY_START_DATE_DESC);
-        return bookingService.findByUserId(userId, state, page)
-                .stream()
-                .map(BookingMapper.INSTANCE::mapToBookingAllFieldsDto)
-                .collect(Collectors.toList());
+        return ResponseEntity.ok(bookingService.findByUserId(userId, state, page));
+    }
+
+    @GetMapping("/export")
+    public void exportBookings(@RequestHeader(USER_ID_HEADER) long userId,
+                               @RequestParam(defaultValue = "all") String state,
+                               HttpServletResponse response) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BookingAllFieldsDto.class);
+        AtomicBoolean started = new AtomicBoolean();
+
+        bookingService.exportByUserId(userId, state, booking -> {
+            try {
+                if (started.compareAndSet(false, true)) {
+                    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                }
+                OutputStream out = response.getOutputStream();
+                out.write(writer.writeValueAsBytes(BookingMapper.INSTANCE.mapToBookingAllFieldsDto(booking)));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        if (!started.get()) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        }
     }
 
     @PatchMapping("/{bookingId}")
@@ -53,6 +99,13 @@ public class BookingController {
         return BookingMapper.INSTANCE.mapToBookingAllFieldsDto(booking);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingStatusUpdateResultDto> updateAvailableStatuses(@RequestBody List<Long> bookingIds,
+                                                                      @RequestParam boolean approved,
+                                                                      @RequestHeader(USER_ID_HEADER) long userId) {
+        return bookingService.updateAvailableStatuses(bookingIds, approved, userId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingAllFieldsDto findBookingByUserOwner(@PathVariable long bookingId,
                                                       @RequestHeader(value = USER_ID_HEADER) long userId) {
@@ -62,13 +115,37 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public Collection<BookingAllFieldsDto> findOwnerBookings(@RequestHeader(USER_ID_HEADER) long userId,
-                                                             @RequestParam(defaultValue = "all") String state,
-                                                             @RequestParam(defaultValue = PAGE_DEFAULT_FROM) Short from,
-                                                             @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) Short size) {
+    public ResponseEntity<Collection<BookingAllFieldsDto>> findOwnerBookings(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam(defaultValue = "all") String state,
+            @RequestParam(defaultValue = PAGE_DEFAULT_FROM) Short from,
+            @RequestParam(defaultValue = PAGE_DEFAULT_SIZE) Short size,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            return toCursorPage(bookingService.findOwnerBookings(userId, state, decodeCursor(after), size), size);
+        }
 
         Pageable page = new OffsetBasedPageRequest(from, size, SORT_BY_START_DATE_DESC);
-        return bookingService.findOwnerBookings(userId, state, page)
+        return ResponseEntity.ok(bookingService.findOwnerBookings(userId, state, page));
+    }
+
+    private static BookingCursor decodeCursor(String after) {
+        return after.isEmpty() ? null : BookingCursor.decode(after);
+    }
+
+    private static ResponseEntity<Collection<BookingAllFieldsDto>> toCursorPage(List<BookingAllFieldsDto> bookings,
+                                                                                int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+
+        return response.body(bookings);
+    }
+
+    private static Collection<BookingAllFieldsDto> mapToDto(Collection<Booking> bookings) {
+        return bookings
                 .stream()
                 .map(BookingMapper.INSTANCE::mapToBookingAllFieldsDto)
                 .collect(Collectors.toList());
@@ -1,20 +1,19 @@
 package ru.practicum.shareit.booking;
 
 import lombok.NonNull;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.enums.Status;
-import ru.practicum.shareit.item.entity.Item;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.booking.listing.BookingListingRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingListingRepository {
     @Query("select b " +
             "from Booking b " +
             "join fetch b.booker " +
@@ -24,114 +23,55 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "order by b.start desc")
     @NonNull Optional<Booking> findById(@Param("id") long id);
 
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item " +
-            "where b.booker = :user ")
-    List<Booking> findByBooker(@Param("user") User booker, Pageable page);
-
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item " +
-            "where b.booker = :user ")
-    List<Booking> findByBooker(@Param("user") User booker, Sort sort);
-
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item " +
-            "where b.booker = :user " +
-            "   and b.start < :time " +
-            "   and b.end > :time ")
-    List<Booking> findByBookerCurrent(
-            @Param("user") User booker,
-            @Param("time") LocalDateTime currentTime, Pageable page);
-
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item " +
-            "where b.booker = :user " +
-            "   and b.end < :time ")
-    List<Booking> findByBookerPast(@Param("user") User booker,
-                                   @Param("time") LocalDateTime currentTime, Pageable page);
+    @Query("select b.item.id from Booking b where b.id = :id")
+    Optional<Long> findItemIdById(@Param("id") long id);
 
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item " +
-            "where b.booker = :user " +
-            "   and b.start > :time ")
-    List<Booking> findByBookerFuture(@Param("user") User booker,
-                                     @Param("time") LocalDateTime currentTime, Pageable page);
+    @Query("select distinct b.item.id from Booking b where b.id in :ids")
+    List<Long> findItemIdsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("select b " +
+    @Query("select b.id as id, b.item.id as itemId, b.booker.id as bookerId, b.status as status " +
             "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item " +
-            "where b.booker = :user " +
-            "   and b.status = :status ")
-    List<Booking> findByBookerAndStatus(@Param("user") User booker,
-                                        @Param("status") Status status, Pageable page);
-
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item i " +
-            "where i.owner = :user ")
-    List<Booking> findByItemOwner(@Param("user") User itemOwner, Pageable page);
-
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item i " +
-            "where i.owner = :user " +
-            "   and b.start < :time " +
-            "   and b.end > :time ")
-    List<Booking> findByItemOwnerCurrent(@Param("user") User itemOwner,
-                                         @Param("time") LocalDateTime currentTime, Pageable page);
-
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item i " +
-            "where i.owner = :user " +
-            "   and b.end < :time ")
-    List<Booking> findByItemOwnerPast(@Param("user") User itemOwner,
-                                      @Param("time") LocalDateTime currentTime, Pageable page);
-
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item i " +
-            "where i.owner = :user " +
-            "   and b.start > :time ")
-    List<Booking> findByItemOwnerFuture(@Param("user") User itemOwner,
-                                        @Param("time") LocalDateTime currentTime, Pageable page);
-
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.booker " +
-            "join fetch b.item i " +
-            "where i.owner = :user " +
-            "   and b.status = :status ")
-    List<Booking> findByItemOwnerAndStatus(@Param("user") User itemOwner,
-                                           @Param("status") Status status, Pageable page);
-
-    @Query("select b " +
-            "from Booking b " +
-            "join fetch b.item i " +
-            "where i = :items " +
-            "   and i.owner.id = :ownerId" +
-            "   and b.status = :status " +
-            "order by b.start")
-    List<Booking> findBookingsByItemId(@Param("items") List<Item> items,
-                                       @Param("ownerId") long ownerId, @Param("status") Status status);
-
-    List<Booking> findBookingByItemIdAndStatusNotInAndStartBefore(
-            long itemId, List<Status> statuses, LocalDateTime start);
-
-    List<Booking> findBookingsByItemIn(List<Item> items);
+            "where b.id in :ids and b.item.owner.id = :ownerId")
+    List<BookingStatusView> findStatusViewsByIdInAndOwnerId(@Param("ids") Collection<Long> ids,
+                                                            @Param("ownerId") long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id in :ids and b.status = :expected")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("expected") Status expected,
+                           @Param("status") Status status);
+
+    @Query(value = "select b.* " +
+            "from bookings b " +
+            "where b.id in (" +
+            "   select last_booking.id " +
+            "   from (select id, row_number() over (partition by item_id order by start_date desc, id desc) as rn " +
+            "         from bookings " +
+            "         where item_id in (:itemIds) and status = :status and start_date < :lastBefore) as last_booking " +
+            "   where last_booking.rn = 1 " +
+            "   union all " +
+            "   select next_booking.id " +
+            "   from (select id, row_number() over (partition by item_id order by start_date, id) as rn " +
+            "         from bookings " +
+            "         where item_id in (:itemIds) and status = :status and start_date > :nextAfter) as next_booking " +
+            "   where next_booking.rn = 1)", nativeQuery = true)
+    List<Booking> findLastAndNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                          @Param("status") String status,
+                                          @Param("lastBefore") LocalDateTime lastBefore,
+                                          @Param("nextAfter") LocalDateTime nextAfter);
+
+    List<Booking> findByItemIdAndStatusInAndEndAfter(long itemId, Collection<Status> statuses, LocalDateTime time);
+
+    List<Booking> findByItemIdInAndStatusInAndEndAfter(Collection<Long> itemIds, Collection<Status> statuses,
+                                                       LocalDateTime time);
+
+    boolean existsByBookerIdAndItemIdAndStatusInAndStartBefore(long bookerId, long itemId,
+                                                               Collection<Status> statuses, LocalDateTime time);
+
+    boolean existsByIdAndStatusIn(long id, Collection<Status> statuses);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfterAndIdNot(long itemId, Collection<Status> statuses,
+                                                                      LocalDateTime end, LocalDateTime start,
+                                                                      long id);
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.enums.Status;
+
+public interface BookingStatusView {
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    Status getStatus();
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.frontier;
+
+import lombok.*;
+import ru.practicum.shareit.booking.Booking;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Getter
+@Setter
+@ToString
+@Table(name = "item_booking_frontiers", schema = "public")
+public class BookingFrontier {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id")
+    @ToString.Exclude
+    private Booking lastBooking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id")
+    @ToString.Exclude
+    private Booking nextBooking;
+
+    @Column(name = "next_start_date")
+    private LocalDateTime nextStart;
+
+    @Version
+    private Long version;
+
+    public boolean isStaleAt(LocalDateTime time) {
+        return nextStart != null && !nextStart.isAfter(time);
+    }
+}
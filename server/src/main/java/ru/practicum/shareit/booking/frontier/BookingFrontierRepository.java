@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.frontier;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingFrontierRepository extends JpaRepository<BookingFrontier, Long> {
+    @Query("select f " +
+            "from BookingFrontier f " +
+            "left join fetch f.lastBooking " +
+            "left join fetch f.nextBooking " +
+            "where f.itemId in :itemIds")
+    List<BookingFrontier> findAllByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("select f.itemId " +
+            "from BookingFrontier f " +
+            "where f.nextStart <= :time " +
+            "order by f.nextStart")
+    List<Long> findItemIdsWithNextStartNotAfter(@Param("time") LocalDateTime time, Pageable page);
+
+    @Query("select i.id " +
+            "from Item i " +
+            "where not exists (select f.itemId from BookingFrontier f where f.itemId = i.id) " +
+            "order by i.id")
+    List<Long> findUntrackedItemIds(Pageable page);
+}
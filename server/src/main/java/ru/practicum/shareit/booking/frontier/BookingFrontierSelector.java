@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.frontier;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@UtilityClass
+public class BookingFrontierSelector {
+    private static final Selection EMPTY = new Selection(null, null);
+
+    public static Selection select(List<Booking> bookings, LocalDateTime now) {
+        Booking last = null;
+        Booking next = null;
+
+        for (int i = 0, size = bookings.size(); i < size; i++) {
+            Booking booking = bookings.get(i);
+            if (booking.getStatus() != Status.APPROVED) {
+                continue;
+            }
+
+            LocalDateTime start = booking.getStart();
+            if (start.isBefore(now)) {
+                if (last == null || start.isAfter(last.getStart())) {
+                    last = booking;
+                }
+            } else if (start.isAfter(now)) {
+                if (next == null || start.isBefore(next.getStart())) {
+                    next = booking;
+                }
+            }
+        }
+
+        return last == null && next == null ? EMPTY : new Selection(last, next);
+    }
+
+    @Value
+    public static class Selection {
+        Booking last;
+        Booking next;
+    }
+}
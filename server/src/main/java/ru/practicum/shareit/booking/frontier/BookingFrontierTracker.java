@@ -0,0 +1,158 @@
+package ru.practicum.shareit.booking.frontier;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.lock.ItemLockService;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class BookingFrontierTracker {
+    private static final Comparator<Booking> BY_START_AND_ID = Comparator.comparing(Booking::getStart)
+            .thenComparing(Booking::getId);
+
+    private final BookingFrontierRepository bookingFrontierRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemLockService itemLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public BookingFrontierTracker(BookingFrontierRepository bookingFrontierRepository,
+                                  BookingRepository bookingRepository,
+                                  ItemLockService itemLockService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${shareit.booking.frontier.sweep-batch-size:500}") int batchSize) {
+        this.bookingFrontierRepository = bookingFrontierRepository;
+        this.bookingRepository = bookingRepository;
+        this.itemLockService = itemLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public List<Booking> findLastAndNextBookings(Collection<Long> itemIds, LocalDateTime time) {
+        Map<Long, BookingFrontier> frontiers = bookingFrontierRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.toMap(BookingFrontier::getItemId, Function.identity()));
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Long> staleItemIds = new ArrayList<>();
+
+        for (Long itemId : itemIds) {
+            BookingFrontier frontier = frontiers.get(itemId);
+            if (frontier == null || frontier.isStaleAt(time)) {
+                staleItemIds.add(itemId);
+                continue;
+            }
+            if (frontier.getLastBooking() != null) {
+                bookings.add(frontier.getLastBooking());
+            }
+            if (frontier.getNextBooking() != null) {
+                bookings.add(frontier.getNextBooking());
+            }
+        }
+
+        if (!staleItemIds.isEmpty()) {
+            bookings.addAll(bookingRepository.findLastAndNextBookings(staleItemIds, Status.APPROVED.name(), time,
+                    time));
+        }
+
+        return bookings;
+    }
+
+    public void onApproved(Booking booking, LocalDateTime time) {
+        long itemId = booking.getItem().getId();
+        Optional<BookingFrontier> found = bookingFrontierRepository.findById(itemId);
+
+        if (found.isEmpty() || found.get().isStaleAt(time)) {
+            refresh(itemId, time);
+            return;
+        }
+
+        BookingFrontier frontier = found.get();
+        if (booking.getStart().isBefore(time)) {
+            if (frontier.getLastBooking() == null || BY_START_AND_ID.compare(booking, frontier.getLastBooking()) > 0) {
+                frontier.setLastBooking(booking);
+            }
+        } else {
+            if (frontier.getNextBooking() == null || BY_START_AND_ID.compare(booking, frontier.getNextBooking()) < 0) {
+                frontier.setNextBooking(booking);
+                frontier.setNextStart(booking.getStart());
+            }
+        }
+
+        bookingFrontierRepository.save(frontier);
+    }
+
+    public BookingFrontier refresh(long itemId, LocalDateTime time) {
+        return refreshAll(List.of(itemId), time).get(0);
+    }
+
+    public List<BookingFrontier> refreshAll(Collection<Long> itemIds, LocalDateTime time) {
+        Map<Long, BookingFrontier> frontiers = bookingFrontierRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(BookingFrontier::getItemId, Function.identity()));
+
+        for (Long itemId : itemIds) {
+            BookingFrontier frontier = frontiers.computeIfAbsent(itemId,
+                    id -> BookingFrontier.builder().itemId(id).build());
+            frontier.setLastBooking(null);
+            frontier.setNextBooking(null);
+            frontier.setNextStart(null);
+        }
+
+        for (Booking booking : bookingRepository.findLastAndNextBookings(itemIds, Status.APPROVED.name(), time,
+                time.minusNanos(1))) {
+            BookingFrontier frontier = frontiers.get(booking.getItem().getId());
+            if (booking.getStart().isBefore(time)) {
+                frontier.setLastBooking(booking);
+            } else {
+                frontier.setNextBooking(booking);
+                frontier.setNextStart(booking.getStart());
+            }
+        }
+
+        return bookingFrontierRepository.saveAll(itemIds.stream()
+                .map(frontiers::get)
+                .collect(Collectors.toList()));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.frontier.sweep-delay:60000}",
+            initialDelayString = "${shareit.booking.frontier.sweep-delay:60000}")
+    public void sweep() {
+        int refreshed = sweep(LocalDateTime.now());
+        if (refreshed > 0) {
+            log.info("Обновлены ближайшие бронирования {} вещей", refreshed);
+        }
+    }
+
+    public int sweep(LocalDateTime time) {
+        Set<Long> itemIds = new LinkedHashSet<>(bookingFrontierRepository.findItemIdsWithNextStartNotAfter(time,
+                PageRequest.of(0, batchSize)));
+        itemIds.addAll(bookingFrontierRepository.findUntrackedItemIds(PageRequest.of(0, batchSize)));
+
+        int refreshed = 0;
+        for (Long itemId : itemIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    itemLockService.lockUntilCompletion(itemId);
+                    refresh(itemId, time);
+                });
+                refreshed++;
+            } catch (DataAccessException e) {
+                log.warn("Не удалось обновить ближайшие бронирования вещи {}: {}", itemId, e.getMessage());
+            }
+        }
+        return refreshed;
+    }
+}
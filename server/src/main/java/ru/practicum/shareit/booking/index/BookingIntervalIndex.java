@@ -0,0 +1,235 @@
+package ru.practicum.shareit.booking.index;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Component
+public class BookingIntervalIndex {
+    public static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Duration maxAge;
+    private final ConcurrentMap<Long, ItemSlot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.index.max-age:600000}") long maxAgeMillis) {
+        this.bookingRepository = bookingRepository;
+        this.maxAge = Duration.ofMillis(maxAgeMillis);
+    }
+
+    public void reserve(Booking booking) {
+        long itemId = booking.getItem().getId();
+        ItemSlot slot = slots.computeIfAbsent(itemId, id -> new ItemSlot());
+
+        slot.lock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (slot.isStale(now.minus(maxAge))) {
+                load(itemId, slot, now);
+            }
+            slot.remove(booking.getId());
+
+            Interval conflict;
+            while ((conflict = slot.overlapping(booking.getStart(), booking.getEnd())) != null) {
+                if (conflict.getBookingId() == null
+                        || bookingRepository.existsByIdAndStatusIn(conflict.getBookingId(), ACTIVE_STATUSES)) {
+                    throw notAvailable(booking);
+                }
+                slot.remove(conflict.getBookingId());
+            }
+
+            if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfterAndIdNot(
+                    itemId, ACTIVE_STATUSES, booking.getEnd(), booking.getStart(), booking.getId())) {
+                slot.horizon = null;
+                throw notAvailable(booking);
+            }
+
+            slot.add(new Interval(booking.getStart(), booking.getEnd(), sequence.incrementAndGet(), booking.getId()));
+        } finally {
+            slot.lock.unlock();
+        }
+
+        TransactionCallbacks.onRollback(() -> remove(itemId, booking.getId()));
+    }
+
+    public void reserveAll(Collection<Booking> bookings) {
+        preload(bookings);
+        bookings.forEach(this::reserve);
+    }
+
+    public void release(Booking booking) {
+        release(booking.getItem().getId(), booking.getId());
+    }
+
+    public void release(long itemId, long bookingId) {
+        Interval released = remove(itemId, bookingId);
+
+        if (released != null) {
+            TransactionCallbacks.onRollback(() -> restore(itemId, released));
+        }
+    }
+
+    public void evictAll() {
+        slots.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.index.max-age:600000}")
+    public void evictStale() {
+        LocalDateTime threshold = LocalDateTime.now().minus(maxAge);
+        slots.values().removeIf(slot -> !slot.lock.isLocked() && slot.isStale(threshold));
+    }
+
+    int slotCount() {
+        return slots.size();
+    }
+
+    private Interval remove(long itemId, Long bookingId) {
+        ItemSlot slot = slots.get(itemId);
+        if (slot == null) {
+            return null;
+        }
+
+        slot.lock.lock();
+        try {
+            return slot.remove(bookingId);
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    private void restore(long itemId, Interval interval) {
+        ItemSlot slot = slots.get(itemId);
+        if (slot == null) {
+            return;
+        }
+
+        slot.lock.lock();
+        try {
+            if (slot.horizon != null) {
+                slot.add(interval);
+            }
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    private static NotAvailableException notAvailable(Booking booking) {
+        return new NotAvailableException(String.format("Вещь %s уже забронирована на период с %s по %s",
+                booking.getItem().getId(), booking.getStart(), booking.getEnd()));
+    }
+
+    private void load(long itemId, ItemSlot slot, LocalDateTime horizon) {
+        fill(slot, bookingRepository.findByItemIdAndStatusInAndEndAfter(itemId, ACTIVE_STATUSES, horizon), horizon);
+    }
+
+    private void preload(Collection<Booking> bookings) {
+        LocalDateTime horizon = LocalDateTime.now();
+        LocalDateTime threshold = horizon.minus(maxAge);
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .filter(itemId -> slots.computeIfAbsent(itemId, id -> new ItemSlot()).isStale(threshold))
+                .collect(Collectors.toSet());
+
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> bookingIds = bookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toSet());
+
+        Map<Long, List<Booking>> loaded = bookingRepository
+                .findByItemIdInAndStatusInAndEndAfter(itemIds, ACTIVE_STATUSES, horizon).stream()
+                .filter(booking -> !bookingIds.contains(booking.getId()))
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        for (Long itemId : itemIds) {
+            ItemSlot slot = slots.computeIfAbsent(itemId, id -> new ItemSlot());
+            slot.lock.lock();
+            try {
+                if (slot.isStale(threshold)) {
+                    fill(slot, loaded.getOrDefault(itemId, Collections.emptyList()), horizon);
+                }
+            } finally {
+                slot.lock.unlock();
+            }
+        }
+    }
+
+    private void fill(ItemSlot slot, List<Booking> bookings, LocalDateTime horizon) {
+        slot.clear();
+        bookings.forEach(b -> slot.add(new Interval(b.getStart(), b.getEnd(), sequence.incrementAndGet(), b.getId())));
+        slot.horizon = horizon;
+    }
+
+    private static final class ItemSlot {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final NavigableSet<Interval> byStart = new TreeSet<>(
+                Comparator.comparing(Interval::getStart).thenComparingLong(Interval::getSequence));
+        private final Map<Long, Interval> byBookingId = new HashMap<>();
+        private volatile LocalDateTime horizon;
+
+        boolean isStale(LocalDateTime threshold) {
+            return horizon == null || horizon.isBefore(threshold);
+        }
+
+        void clear() {
+            byStart.clear();
+            byBookingId.clear();
+        }
+
+        Interval overlapping(LocalDateTime start, LocalDateTime end) {
+            Interval probe = new Interval(start, start, Long.MAX_VALUE, null);
+
+            Interval before = byStart.floor(probe);
+            if (before != null && before.getEnd().isAfter(start)) {
+                return before;
+            }
+
+            Interval after = byStart.higher(probe);
+            if (after != null && after.getStart().isBefore(end)) {
+                return after;
+            }
+            return null;
+        }
+
+        void add(Interval interval) {
+            byStart.add(interval);
+            if (interval.getBookingId() != null) {
+                byBookingId.put(interval.getBookingId(), interval);
+            }
+        }
+
+        Interval remove(Long bookingId) {
+            Interval interval = byBookingId.remove(bookingId);
+            if (interval != null) {
+                byStart.remove(interval);
+            }
+            return interval;
+        }
+    }
+
+    @lombok.Value
+    private static class Interval {
+        LocalDateTime start;
+        LocalDateTime end;
+        long sequence;
+        Long bookingId;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.listing;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.enums.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BookingListingRepository {
+
+    List<BookingAllFieldsDto> findBookings(BookingRole role, long userId, State state, LocalDateTime currentTime,
+                                           BookingCursor after, Pageable page);
+
+    long forEachBooking(BookingRole role, long userId, State state, LocalDateTime currentTime, int batchSize,
+                        Consumer<Booking> consumer);
+}
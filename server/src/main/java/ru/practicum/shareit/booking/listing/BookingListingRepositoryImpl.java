@@ -0,0 +1,190 @@
+package ru.practicum.shareit.booking.listing;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.item.dto.GetBookingItemDto;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.dto.GetBookingUserDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.util.Constant.SORT_BY_START_DATE_AND_ID_DESC;
+
+@RequiredArgsConstructor
+public class BookingListingRepositoryImpl implements BookingListingRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookingAllFieldsDto> findBookings(BookingRole role, long userId, State state,
+                                                  LocalDateTime currentTime, BookingCursor after, Pageable page) {
+        Pageable pageable = page == null ? Pageable.unpaged() : page;
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        query.multiselect(
+                booking.get("id").alias("id"),
+                booking.get("start").alias("start"),
+                booking.get("end").alias("end"),
+                booking.get("status").alias("status"),
+                item.get("id").alias("itemId"),
+                item.get("name").alias("itemName"),
+                booking.get("booker").get("id").alias("bookerId"));
+
+        TypedQuery<Tuple> typedQuery = createQuery(query, booking, role, userId, state, currentTime, after,
+                pageable.getSort());
+
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+
+        return typedQuery.getResultList().stream()
+                .map(BookingListingRepositoryImpl::mapToBookingAllFieldsDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long forEachBooking(BookingRole role, long userId, State state, LocalDateTime currentTime, int batchSize,
+                               Consumer<Booking> consumer) {
+        CriteriaQuery<Booking> criteriaQuery = entityManager.getCriteriaBuilder().createQuery(Booking.class);
+        Root<Booking> booking = criteriaQuery.from(Booking.class);
+        booking.fetch("booker");
+        booking.fetch("item");
+        criteriaQuery.select(booking);
+
+        TypedQuery<Booking> query = createQuery(criteriaQuery, booking, role, userId, state, currentTime, null,
+                SORT_BY_START_DATE_AND_ID_DESC)
+                .setHint(QueryHints.HINT_FETCH_SIZE, batchSize)
+                .setHint(QueryHints.HINT_READONLY, true);
+
+        long count = 0;
+        try (Stream<Booking> bookings = query.getResultStream()) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++count % batchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private <T> TypedQuery<T> createQuery(CriteriaQuery<T> query, Root<Booking> booking, BookingRole role,
+                                          long userId, State state, LocalDateTime currentTime,
+                                          BookingCursor after, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Parameters parameters = new Parameters(cb);
+        List<Predicate> predicates = new ArrayList<>();
+
+        predicates.add(byRole(role, userId, cb, query, booking, parameters));
+        predicates.addAll(byState(state, currentTime, cb, booking, parameters));
+
+        if (after != null) {
+            Path<LocalDateTime> start = booking.get("start");
+            ParameterExpression<LocalDateTime> cursorStart =
+                    parameters.bind("cursorStart", LocalDateTime.class, after.getStart());
+
+            predicates.add(cb.or(
+                    cb.lessThan(start, cursorStart),
+                    cb.and(
+                            cb.equal(start, cursorStart),
+                            cb.lessThan(booking.get("id"), parameters.bind("cursorId", Long.class, after.getId())))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(QueryUtils.toOrders(sort, booking, cb));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        parameters.values.forEach(typedQuery::setParameter);
+
+        return typedQuery;
+    }
+
+    private static Predicate byRole(BookingRole role, long userId, CriteriaBuilder cb, CriteriaQuery<?> query,
+                                    Root<Booking> booking, Parameters parameters) {
+        ParameterExpression<Long> user = parameters.bind("userId", Long.class, userId);
+
+        switch (role) {
+            case BOOKER:
+                return cb.equal(booking.get("booker").get("id"), user);
+            case OWNER:
+                Subquery<Long> ownedItems = query.subquery(Long.class);
+                Root<Item> item = ownedItems.from(Item.class);
+                ownedItems.select(item.get("id"))
+                        .where(cb.equal(item.get("owner").get("id"), user));
+
+                return booking.get("item").get("id").in(ownedItems);
+            default:
+                throw new IllegalArgumentException(String.format("Неизвестная роль %s", role));
+        }
+    }
+
+    private static List<Predicate> byState(State state, LocalDateTime currentTime, CriteriaBuilder cb,
+                                           Root<Booking> booking, Parameters parameters) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+
+        switch (state) {
+            case ALL:
+                return List.of();
+            case CURRENT: {
+                ParameterExpression<LocalDateTime> time = parameters.bind("time", LocalDateTime.class, currentTime);
+                return List.of(cb.lessThan(start, time), cb.greaterThan(end, time));
+            }
+            case PAST: {
+                ParameterExpression<LocalDateTime> time = parameters.bind("time", LocalDateTime.class, currentTime);
+                return List.of(cb.lessThan(start, time), cb.lessThan(end, time));
+            }
+            case FUTURE:
+                return List.of(cb.greaterThan(start, parameters.bind("time", LocalDateTime.class, currentTime)));
+            case WAITING:
+            case REJECTED:
+                Status status = state == State.WAITING ? Status.WAITING : Status.REJECTED;
+                return List.of(cb.equal(booking.get("status"), parameters.bind("status", Status.class, status)));
+            default:
+                throw new IllegalArgumentException(String.format("Неизвестное состояние %s", state));
+        }
+    }
+
+    private static BookingAllFieldsDto mapToBookingAllFieldsDto(Tuple tuple) {
+        return BookingAllFieldsDto.builder()
+                .id(tuple.get("id", Long.class))
+                .start(tuple.get("start", LocalDateTime.class))
+                .end(tuple.get("end", LocalDateTime.class))
+                .status(tuple.get("status", Status.class))
+                .item(new GetBookingItemDto(tuple.get("itemId", Long.class), tuple.get("itemName", String.class)))
+                .booker(new GetBookingUserDto(tuple.get("bookerId", Long.class)))
+                .build();
+    }
+
+    @RequiredArgsConstructor
+    private static class Parameters {
+        private final CriteriaBuilder cb;
+        private final Map<String, Object> values = new HashMap<>();
+
+        <T> ParameterExpression<T> bind(String name, Class<T> type, T value) {
+            values.put(name, value);
+            return cb.parameter(type, name);
+        }
+    }
+}
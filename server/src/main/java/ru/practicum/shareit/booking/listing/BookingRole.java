@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.listing;
+
+public enum BookingRole {
+    BOOKER,
+    OWNER
+}
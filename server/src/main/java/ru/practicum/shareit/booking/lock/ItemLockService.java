@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ItemLockService {
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public ItemLockService(@Value("${shareit.booking.lock.stripes:256}") int stripes,
+                           @Value("${shareit.booking.lock.timeout:5s}") Duration timeout) {
+        int size = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public void lockUntilCompletion(long itemId) {
+        requireTransaction();
+        lockStripe(stripeIndex(itemId), itemId);
+    }
+
+    public void lockAllUntilCompletion(Collection<Long> itemIds) {
+        requireTransaction();
+
+        SortedMap<Integer, Long> itemIdsByStripe = new TreeMap<>();
+        itemIds.forEach(itemId -> itemIdsByStripe.putIfAbsent(stripeIndex(itemId), itemId));
+        itemIdsByStripe.forEach(this::lockStripe);
+    }
+
+    int stripeIndex(long itemId) {
+        long hash = itemId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (stripes.length - 1);
+    }
+
+    private void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Блокировка вещи возможна только внутри транзакции");
+        }
+    }
+
+    private void lockStripe(int stripeIndex, long itemId) {
+        ReentrantLock lock = stripes[stripeIndex];
+        acquire(lock, itemId);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void acquire(ReentrantLock lock, long itemId) {
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException(String.format("Вещь %s занята другой операцией", itemId));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException(String.format("Ожидание блокировки вещи %s прервано", itemId), e);
+        }
+    }
+}
@@ -2,19 +2,36 @@ package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateResultDto;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
     Booking save(long itemId, LocalDateTime start, LocalDateTime end, long userId);
 
-    Collection<Booking> findByUserId(long userId, String state, Pageable page);
+    List<Booking> saveAll(List<BookingSavingDto> bookingSavingDtos, long userId);
+
+    Collection<BookingAllFieldsDto> findByUserId(long userId, String state, Pageable page);
+
+    List<BookingAllFieldsDto> findByUserId(long userId, String state, BookingCursor after, int size);
 
     Booking updateAvailableStatus(long bookingId, Boolean state, long userId);
 
+    List<BookingStatusUpdateResultDto> updateAvailableStatuses(Collection<Long> bookingIds, boolean approved,
+                                                               long userId);
+
     Booking findAllBookingsByUserId(long bookingId, long userId);
 
-    Collection<Booking> findOwnerBookings(long userId, String state, Pageable page);
+    Collection<BookingAllFieldsDto> findOwnerBookings(long userId, String state, Pageable page);
+
+    List<BookingAllFieldsDto> findOwnerBookings(long userId, String state, BookingCursor after, int size);
+
+    long exportByUserId(long userId, String state, Consumer<Booking> consumer);
 }
@@ -1,39 +1,62 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatusView;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateResultDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
+import ru.practicum.shareit.booking.frontier.BookingFrontierTracker;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.listing.BookingRole;
+import ru.practicum.shareit.booking.lock.ItemLockService;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentEligibilityCache;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.existence.UserExistenceService;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.enums.Status.*;
+import static ru.practicum.shareit.util.Constant.SORT_BY_START_DATE_AND_ID_DESC;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class BookingServiceImpl implements BookingService {
+    private static final int EXPORT_BATCH_SIZE = 500;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemLockService itemLockService;
+    private final BookingFrontierTracker bookingFrontierTracker;
+    private final CommentEligibilityCache commentEligibilityCache;
+    private final UserExistenceService userExistenceService;
 
     @Override
     public Booking save(long itemId, LocalDateTime start, LocalDateTime end, long bookerId) {
-        Item item = itemRepository.findById(itemId).orElseThrow(() ->
+        itemLockService.lockUntilCompletion(itemId);
+
+        Item item = itemRepository.lockForBooking(itemId).orElseThrow(() ->
                 new NotFoundException(String.format("Вещь %s не найдена.", itemId)));
 
         if (item.getOwner().getId().equals(bookerId)) {
@@ -56,57 +79,93 @@ public class BookingServiceImpl implements BookingService {
                 .status(WAITING)
                 .build();
 
-        return bookingRepository.save(booking);
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingIntervalIndex.reserve(savedBooking);
+
+        return savedBooking;
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public Collection<Booking> findByUserId(long userId, String stateString, Pageable page) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь %s не найден.", userId))
-        );
-
-        State state;
-
-        state = State.valueOf(stateString.toUpperCase());
-        LocalDateTime currentMoment = LocalDateTime.now();
-        List<Booking> bookings = Collections.emptyList();
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByBooker(user, page);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByBookerCurrent(
-                        user, currentMoment, page);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerPast(
-                        user, currentMoment, page);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerFuture(
-                        user, currentMoment, page);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerAndStatus(
-                        user, Status.WAITING, page);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerAndStatus(
-                        user, Status.REJECTED, page);
-                break;
+    public List<Booking> saveAll(List<BookingSavingDto> bookingSavingDtos, long bookerId) {
+        if (bookingSavingDtos.isEmpty()) {
+            throw new ValidationException("Список бронирований не может быть пустым");
         }
-        return bookings;
+
+        for (BookingSavingDto bookingSavingDto : bookingSavingDtos) {
+            if (bookingSavingDto.getItemId() == null || bookingSavingDto.getStart() == null
+                    || bookingSavingDto.getEnd() == null
+                    || !bookingSavingDto.getStart().isBefore(bookingSavingDto.getEnd())) {
+                throw new ValidationException(String.format("Некорректное бронирование: %s", bookingSavingDto));
+            }
+        }
+
+        Set<Long> itemIds = bookingSavingDtos.stream()
+                .map(BookingSavingDto::getItemId)
+                .collect(Collectors.toSet());
+        itemLockService.lockAllUntilCompletion(itemIds);
+
+        User booker = userRepository.findById(bookerId).orElseThrow(() ->
+                new NotFoundException(String.format("Пользователь %s не найден.", bookerId)));
+
+        Map<Long, Item> items = itemRepository.lockAllForBooking(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        for (Long itemId : itemIds) {
+            Item item = items.get(itemId);
+
+            if (item == null) {
+                throw new NotFoundException(String.format("Вещь %s не найдена.", itemId));
+            }
+
+            if (item.getOwner().getId().equals(bookerId)) {
+                throw new NotFoundException(String.format(
+                        "Вещь %s не может быть забронирована ее владельцем", itemId));
+            }
+
+            if (!item.getAvailable()) {
+                throw new ValidationException(String.format("Вещь %s должна быть доступна для бронирования", itemId));
+            }
+        }
+
+        List<Booking> bookings = bookingSavingDtos.stream()
+                .map(bookingSavingDto -> Booking.builder()
+                        .start(bookingSavingDto.getStart())
+                        .end(bookingSavingDto.getEnd())
+                        .item(items.get(bookingSavingDto.getItemId()))
+                        .booker(booker)
+                        .status(WAITING)
+                        .build())
+                .collect(Collectors.toList());
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        bookingIntervalIndex.reserveAll(savedBookings);
+
+        return savedBookings;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<BookingAllFieldsDto> findByUserId(long userId, String stateString, Pageable page) {
+        return findBookings(BookingRole.BOOKER, userId, stateString, null, page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingAllFieldsDto> findByUserId(long userId, String stateString, BookingCursor after, int size) {
+        return findBookings(BookingRole.BOOKER, userId, stateString, after,
+                PageRequest.of(0, size, SORT_BY_START_DATE_AND_ID_DESC));
     }
 
     @Override
     public Booking updateAvailableStatus(long bookingId, Boolean state, long userId) {
+        long itemId = bookingRepository.findItemIdById(bookingId).orElseThrow(
+                () -> new NotFoundException(String.format("Бронирование %s не найдено.", bookingId)));
+        itemLockService.lockUntilCompletion(itemId);
+
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(
                 () -> new NotFoundException(String.format("Бронирование %s не найдено.", bookingId)));
 
-        userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь %s не найден", userId)));
+        userExistenceService.requireExistsInDatabase(userId);
 
         if (booking.getBooker().getId().equals(userId)) {
             throw new NotFoundException(String.format("Нет доступных бронирований у пользователя %s.", userId));
@@ -119,7 +178,92 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setStatus(state ? APPROVED : REJECTED);
 
-        return bookingRepository.save(booking);
+        if (booking.getStatus() == REJECTED) {
+            bookingIntervalIndex.release(booking);
+            commentEligibilityCache.evict(booking.getBooker().getId(), itemId);
+        }
+
+        Booking savedBooking = bookingRepository.save(booking);
+        if (savedBooking.getStatus() == APPROVED) {
+            bookingFrontierTracker.onApproved(savedBooking, LocalDateTime.now());
+        }
+
+        return savedBooking;
+    }
+
+    @Override
+    public List<BookingStatusUpdateResultDto> updateAvailableStatuses(Collection<Long> bookingIds, boolean approved,
+                                                                      long userId) {
+        if (bookingIds.isEmpty()) {
+            throw new ValidationException("Список бронирований не может быть пустым");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+
+        userExistenceService.requireExistsInDatabase(userId);
+
+        itemLockService.lockAllUntilCompletion(bookingRepository.findItemIdsByIdIn(ids));
+
+        Map<Long, BookingStatusView> owned = bookingRepository.findStatusViewsByIdInAndOwnerId(ids, userId).stream()
+                .collect(Collectors.toMap(BookingStatusView::getId, Function.identity()));
+
+        List<BookingStatusView> waiting = owned.values().stream()
+                .filter(view -> view.getStatus() == WAITING)
+                .collect(Collectors.toList());
+
+        Status status = approved ? APPROVED : REJECTED;
+        if (!waiting.isEmpty()) {
+            List<Long> waitingIds = waiting.stream()
+                    .map(BookingStatusView::getId)
+                    .collect(Collectors.toList());
+
+            int updated = bookingRepository.updateStatusByIdIn(waitingIds, WAITING, status);
+            if (updated != waitingIds.size()) {
+                Map<Long, BookingStatusView> current = bookingRepository.findStatusViewsByIdInAndOwnerId(waitingIds,
+                                userId).stream()
+                        .collect(Collectors.toMap(BookingStatusView::getId, Function.identity()));
+
+                waitingIds.forEach(owned::remove);
+                owned.putAll(current);
+                waiting = waiting.stream()
+                        .filter(view -> current.containsKey(view.getId())
+                                && current.get(view.getId()).getStatus() == status)
+                        .collect(Collectors.toList());
+            }
+
+            applyStatusChange(waiting, status);
+        }
+
+        Set<Long> updatedIds = waiting.stream()
+                .map(BookingStatusView::getId)
+                .collect(Collectors.toSet());
+
+        return ids.stream()
+                .map(id -> {
+                    if (updatedIds.contains(id)) {
+                        return new BookingStatusUpdateResultDto(id, StatusUpdateOutcome.UPDATED, status);
+                    }
+                    BookingStatusView view = owned.get(id);
+                    if (view == null) {
+                        return new BookingStatusUpdateResultDto(id, StatusUpdateOutcome.NOT_FOUND, null);
+                    }
+                    return new BookingStatusUpdateResultDto(id, StatusUpdateOutcome.NOT_WAITING, view.getStatus());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void applyStatusChange(List<BookingStatusView> bookings, Status status) {
+        if (status == APPROVED) {
+            bookingFrontierTracker.refreshAll(bookings.stream()
+                    .map(BookingStatusView::getItemId)
+                    .collect(Collectors.toSet()), LocalDateTime.now());
+            return;
+        }
+
+        for (BookingStatusView booking : bookings) {
+            bookingIntervalIndex.release(booking.getItemId(), booking.getId());
+            commentEligibilityCache.evict(booking.getBookerId(), booking.getItemId());
+        }
     }
 
     @Override
@@ -128,11 +272,9 @@ public class BookingServiceImpl implements BookingService {
                 new NotFoundException(
                         String.format("У пользователя %s бронирование %s не найдено.", userId, bookingId)));
 
-        User user = userRepository.findById(userId).orElseThrow(() ->
-                new NotFoundException(String.format("Пользователь %s не найден.", userId)));
+        userExistenceService.requireExists(userId);
 
-        if (!Objects.equals(booking.getBooker().getId(), user.getId())
-                && !Objects.equals(booking.getItem().getOwner().getId(), user.getId())) {
+        if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
             throw new NotFoundException(String.format("Бронирование %s не найдено", booking.getId()));
         }
 
@@ -141,44 +283,34 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<Booking> findOwnerBookings(long userId, String stateString, Pageable page) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь %s не найден.", userId))
-        );
-
-        State state;
-
-        state = State.valueOf(stateString.toUpperCase());
-        LocalDateTime currentMoment = LocalDateTime.now();
-        List<Booking> bookings = Collections.emptyList();
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByItemOwner(
-                        user, page);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItemOwnerCurrent(
-                        user, currentMoment, page);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemOwnerPast(
-                        user, currentMoment, page);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItemOwnerFuture(
-                        user, currentMoment, page);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemOwnerAndStatus(
-                        user, Status.WAITING, page);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemOwnerAndStatus(
-                        user, Status.REJECTED, page);
-                break;
-        }
+    public Collection<BookingAllFieldsDto> findOwnerBookings(long userId, String stateString, Pageable page) {
+        return findBookings(BookingRole.OWNER, userId, stateString, null, page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingAllFieldsDto> findOwnerBookings(long userId, String stateString, BookingCursor after, int size) {
+        return findBookings(BookingRole.OWNER, userId, stateString, after,
+                PageRequest.of(0, size, SORT_BY_START_DATE_AND_ID_DESC));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportByUserId(long userId, String stateString, Consumer<Booking> consumer) {
+        userExistenceService.requireExists(userId);
+
+        State state = State.valueOf(stateString.toUpperCase());
+
+        return bookingRepository.forEachBooking(BookingRole.BOOKER, userId, state, LocalDateTime.now(),
+                EXPORT_BATCH_SIZE, consumer);
+    }
+
+    private List<BookingAllFieldsDto> findBookings(BookingRole role, long userId, String stateString,
+                                                   BookingCursor after, Pageable page) {
+        userExistenceService.requireExists(userId);
+
+        State state = State.valueOf(stateString.toUpperCase());
 
-        return bookings;
+        return bookingRepository.findBookings(role, userId, state, LocalDateTime.now(), after, page);
     }
 }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import javax.cache.Cache;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+public class BoundedJCacheRegionFactory extends JCacheRegionFactory {
+    private static final String MAX_SIZE = "shareit.cache.entity.max-size";
+    private static final String TTL = "shareit.cache.entity.ttl";
+
+    private long maxSize;
+    private Duration ttl;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+        Object maxSizeValue = configValues.get(MAX_SIZE);
+        Object ttlValue = configValues.get(TTL);
+        maxSize = maxSizeValue == null ? 10_000 : Long.parseLong(maxSizeValue.toString());
+        ttl = ttlValue == null ? Duration.ofMinutes(10) : DurationStyle.detectAndParse(ttlValue.toString());
+
+        super.prepareForUse(settings, configValues);
+    }
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map properties) {
+        return URI.create("shareit:entity-cache:" + UUID.randomUUID());
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return getCacheManager().createCache(regionName, configuration);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import javax.persistence.EntityManagerFactory;
+
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictItems() {
+        evict(Item.class);
+        TransactionCallbacks.afterCompletion(() -> evict(Item.class));
+    }
+
+    private void evict(Class<?> entityClass) {
+        entityManagerFactory.getCache().evict(entityClass);
+    }
+}
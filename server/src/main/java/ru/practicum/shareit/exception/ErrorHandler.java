@@ -1,7 +1,10 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -23,7 +26,7 @@ public class ErrorHandler {
         return createErrorResponse(HttpStatus.NOT_FOUND, e.getMessage());
     }
 
-    @ExceptionHandler({AlreadyExistsException.class})
+    @ExceptionHandler({AlreadyExistsException.class, ConcurrencyFailureException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
     public Map<String, String> handleConflict(final RuntimeException e) {
         log.debug("Получен статус 409 Conflict {}", e.getMessage(), e);
@@ -38,6 +41,13 @@ public class ErrorHandler {
         return createErrorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
     }
 
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleServiceUnavailable(final RuntimeException e) {
+        log.warn("Получен статус 503 Service unavailable {}", e.getMessage());
+        return createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleRaw(final Throwable e) {
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.entity.Item;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemLockingRepository {
+
+    Optional<Item> lockForBooking(long itemId);
+
+    List<Item> lockAllForBooking(Collection<Long> itemIds);
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.entity.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ItemLockingRepositoryImpl implements ItemLockingRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Item> lockForBooking(long itemId) {
+        return lockAllForBooking(List.of(itemId)).stream().findFirst();
+    }
+
+    /**
+     * Блокирует строки вещей до конца транзакции и увеличивает их версию.
+     * PESSIMISTIC_FORCE_INCREMENT в запросе Hibernate превращает в FOR UPDATE NOWAIT,
+     * поэтому строка сначала блокируется с ожиданием, а версия увеличивается отдельным UPDATE.
+     */
+    @Override
+    public List<Item> lockAllForBooking(Collection<Long> itemIds) {
+        List<Item> items = entityManager.createQuery("select i from Item i where i.id in :ids order by i.id",
+                        Item.class)
+                .setParameter("ids", itemIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+
+        items.forEach(item -> entityManager.lock(item, LockModeType.PESSIMISTIC_FORCE_INCREMENT));
+        return items;
+    }
+}
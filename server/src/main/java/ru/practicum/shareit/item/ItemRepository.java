@@ -9,7 +9,7 @@ import ru.practicum.shareit.request.ItemRequest;
 
 import java.util.List;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemLockingRepository {
     List<Item> findAllByOwnerIdOrderById(long ownerId, Pageable page);
 
     @Query(value = "SELECT item FROM Item item " +
@@ -19,6 +19,11 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findItemsByText(@Param("text") String text, Pageable page);
 
     List<Item> findItemByItemRequestIn(List<ItemRequest> requests);
+
+    @Query("select coalesce(max(i.id), 0) from Item i")
+    long findMaxId();
+
+    List<Item> findAllByIdBetween(long fromId, long toId);
 }
 
 
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.comment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class CommentEligibilityCache {
+    private final Map<Long, Set<Long>> eligibleItemsByUser;
+
+    public CommentEligibilityCache(@Value("${shareit.comment.eligibility.cache-size:10000}") int maxUsers) {
+        this.eligibleItemsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Set<Long>> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    public synchronized boolean isEligible(long userId, long itemId) {
+        Set<Long> itemIds = eligibleItemsByUser.get(userId);
+        return itemIds != null && itemIds.contains(itemId);
+    }
+
+    public synchronized void markEligible(long userId, long itemId) {
+        eligibleItemsByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(itemId);
+    }
+
+    public void evict(long userId, long itemId) {
+        remove(userId, itemId);
+        TransactionCallbacks.afterCompletion(() -> remove(userId, itemId));
+    }
+
+    private synchronized void remove(long userId, long itemId) {
+        Set<Long> itemIds = eligibleItemsByUser.get(userId);
+        if (itemIds != null && itemIds.remove(itemId) && itemIds.isEmpty()) {
+            eligibleItemsByUser.remove(userId);
+        }
+    }
+}
@@ -29,6 +29,7 @@ public interface ItemMapper {
     }
 
     @Mapping(source = "id", target = "id", qualifiedByName = "getIdToString")
+    @Mapping(target = "version", ignore = true)
     Item mapToItem(ItemDto itemDto);
 
     @Named("getIdToString")
@@ -0,0 +1,253 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final float NAME_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Comparator<Hit> BY_RELEVANCE = Comparator.comparingDouble(Hit::getScore).reversed()
+            .thenComparingLong(Hit::getItemId);
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private Map<Long, Document> documents = new HashMap<>();
+    private Map<Long, Document> journal;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shareit.search.refresh-delay:600000}",
+            initialDelayString = "${shareit.search.refresh-delay:600000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Map<String, Map<Long, Float>> loadedPostings = new HashMap<>();
+            Map<Long, Document> loadedDocuments = new HashMap<>();
+
+            Pageable page = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+            Page<Item> items;
+            do {
+                items = itemRepository.findAll(page);
+                items.forEach(item -> {
+                    Document document = toDocument(item);
+                    loadedDocuments.put(item.getId(), document);
+                    document.getTerms().forEach((term, weight) ->
+                            loadedPostings.computeIfAbsent(term, t -> new HashMap<>()).put(item.getId(), weight));
+                });
+                page = page.next();
+            } while (items.hasNext());
+
+            lock.writeLock().lock();
+            try {
+                Map<Long, Document> writes = journal;
+                journal = null;
+                postings = loadedPostings;
+                documents = loadedDocuments;
+                writes.forEach(this::restore);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("Поисковый индекс вещей построен: {} вещей, {} термов",
+                    loadedDocuments.size(), loadedPostings.size());
+        } finally {
+            stopJournal();
+        }
+    }
+
+    public void index(Item item) {
+        long itemId = item.getId();
+        Document document = toDocument(item);
+        Document previous;
+
+        lock.writeLock().lock();
+        try {
+            previous = put(itemId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TransactionCallbacks.onRollback(() -> restore(itemId, previous));
+    }
+
+    public void removeByOwner(long ownerId) {
+        Map<Long, Document> removed = new HashMap<>();
+
+        lock.writeLock().lock();
+        try {
+            List<Long> itemIds = documents.entrySet().stream()
+                    .filter(entry -> entry.getValue().getOwnerId() == ownerId)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+
+            itemIds.forEach(itemId -> removed.put(itemId, remove(itemId)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TransactionCallbacks.onRollback(() -> removed.forEach(this::restore));
+    }
+
+    public List<Long> search(String text, Pageable page) {
+        Set<String> terms = new LinkedHashSet<>(ItemTextAnalyzer.terms(text));
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        boolean paged = page != null && page.isPaged();
+        long limit = paged ? page.getOffset() + page.getPageSize() : Long.MAX_VALUE;
+        PriorityQueue<Hit> top = new PriorityQueue<>(BY_RELEVANCE.reversed());
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Float>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Float> posting = postings.get(term);
+                if (posting == null) {
+                    return Collections.emptyList();
+                }
+                termPostings.add(posting);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            double[] idf = termPostings.stream()
+                    .mapToDouble(posting -> Math.log(1 + (double) documents.size() / posting.size()))
+                    .toArray();
+
+            for (Long itemId : termPostings.get(0).keySet()) {
+                if (!documents.get(itemId).isAvailable()) {
+                    continue;
+                }
+
+                double score = 0;
+                boolean matchesAll = true;
+                for (int i = 0; i < termPostings.size() && matchesAll; i++) {
+                    Float weight = termPostings.get(i).get(itemId);
+                    matchesAll = weight != null;
+                    score += matchesAll ? weight * idf[i] : 0;
+                }
+
+                if (matchesAll) {
+                    top.add(new Hit(itemId, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Stream<Hit> ranked = top.stream().sorted(BY_RELEVANCE);
+        if (paged) {
+            ranked = ranked.skip(page.getOffset());
+        }
+
+        return ranked.map(Hit::getItemId).collect(Collectors.toList());
+    }
+
+    private void restore(long itemId, Document document) {
+        lock.writeLock().lock();
+        try {
+            if (document == null) {
+                remove(itemId);
+            } else {
+                put(itemId, document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopJournal() {
+        lock.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Document put(long itemId, Document document) {
+        Document previous = remove(itemId);
+        if (journal != null) {
+            journal.put(itemId, document);
+        }
+
+        documents.put(itemId, document);
+        document.getTerms().forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(itemId, weight));
+
+        return previous;
+    }
+
+    private Document remove(long itemId) {
+        if (journal != null) {
+            journal.put(itemId, null);
+        }
+
+        Document previous = documents.remove(itemId);
+
+        if (previous != null) {
+            previous.getTerms().keySet().forEach(term -> {
+                Map<Long, Float> posting = postings.get(term);
+                posting.remove(itemId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            });
+        }
+
+        return previous;
+    }
+
+    private static Document toDocument(Item item) {
+        Map<String, Float> terms = new HashMap<>();
+        ItemTextAnalyzer.terms(item.getName()).forEach(term -> terms.put(term, NAME_WEIGHT));
+        ItemTextAnalyzer.terms(item.getDescription()).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Float::sum));
+
+        long ownerId = item.getOwner() == null ? 0 : item.getOwner().getId();
+        return new Document(ownerId, Boolean.TRUE.equals(item.getAvailable()), terms);
+    }
+
+    @Value
+    private static class Document {
+        long ownerId;
+        boolean available;
+        Map<String, Float> terms;
+    }
+
+    @Value
+    private static class Hit {
+        long itemId;
+        double score;
+    }
+}
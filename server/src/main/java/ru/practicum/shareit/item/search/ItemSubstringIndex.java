@@ -0,0 +1,356 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+@Slf4j
+@Component
+public class ItemSubstringIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final ItemRepository itemRepository;
+    private final int batchSize;
+    private final int parallelism;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, PostingList> postings = new HashMap<>();
+    private List<Document> documents = new ArrayList<>();
+    private NavigableMap<Long, Integer> documentByItem = new TreeMap<>();
+    private BitSet deleted = new BitSet();
+    private int deletedCount;
+    private Map<Long, Document> journal;
+
+    public ItemSubstringIndex(ItemRepository itemRepository,
+                              @Value("${shareit.search.rebuild.batch-size:1000}") int batchSize,
+                              @Value("${shareit.search.rebuild.parallelism:0}") int parallelism) {
+        this.itemRepository = itemRepository;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shareit.search.refresh-delay:600000}",
+            initialDelayString = "${shareit.search.refresh-delay:600000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            long maxId = itemRepository.findMaxId();
+            List<List<Document>> batches = pool.submit(() -> LongStream.rangeClosed(0, maxId / batchSize)
+                            .parallel()
+                            .mapToObj(batch -> load(batch * batchSize, batch * batchSize + batchSize - 1))
+                            .collect(Collectors.toList()))
+                    .get();
+            Snapshot snapshot = pool.submit(() -> build(batches)).get();
+
+            lock.writeLock().lock();
+            try {
+                Map<Long, Document> writes = journal;
+                journal = null;
+                apply(snapshot);
+                writes.forEach(this::restore);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("Индекс подстрок вещей построен: {} вещей, {} триграмм, {} байт",
+                    snapshot.getDocuments().size(), snapshot.getPostings().size(),
+                    snapshot.getPostings().values().stream().mapToLong(PostingList::sizeInBytes).sum());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Построение индекса подстрок прервано", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Не удалось построить индекс подстрок", e.getCause());
+        } finally {
+            pool.shutdown();
+            stopJournal();
+        }
+    }
+
+    public void index(Item item) {
+        long itemId = item.getId();
+        Document document = toDocument(item);
+        Document previous;
+
+        lock.writeLock().lock();
+        try {
+            previous = put(itemId, document);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TransactionCallbacks.onRollback(() -> restore(itemId, previous));
+    }
+
+    public void removeByOwner(long ownerId) {
+        Map<Long, Document> removed = new HashMap<>();
+
+        lock.writeLock().lock();
+        try {
+            List<Long> itemIds = documentByItem.entrySet().stream()
+                    .filter(entry -> documents.get(entry.getValue()).getOwnerId() == ownerId)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+
+            itemIds.forEach(itemId -> removed.put(itemId, remove(itemId)));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TransactionCallbacks.onRollback(() -> removed.forEach(this::restore));
+    }
+
+    public List<Long> search(String text) {
+        return search(text, Integer.MAX_VALUE, itemId -> false);
+    }
+
+    public List<Long> search(String text, int limit, LongPredicate excluded) {
+        String query = normalize(text);
+        if (query.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM_LENGTH) {
+                List<Long> itemIds = new ArrayList<>();
+                for (Map.Entry<Long, Integer> entry : documentByItem.entrySet()) {
+                    if (itemIds.size() == limit) {
+                        break;
+                    }
+                    if (documents.get(entry.getValue()).matches(query, excluded)) {
+                        itemIds.add(entry.getKey());
+                    }
+                }
+                return itemIds;
+            }
+
+            List<PostingList> lists = new ArrayList<>();
+            for (long gram : grams(query)) {
+                PostingList posting = postings.get(gram);
+                if (posting == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            int[] candidates = lists.get(0).toArray();
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retain(candidates, count);
+            }
+
+            PriorityQueue<Long> smallest = new PriorityQueue<>(Comparator.reverseOrder());
+            for (int i = 0; i < count; i++) {
+                int docId = candidates[i];
+                Document document = documents.get(docId);
+
+                if (!deleted.get(docId) && document.matches(query, excluded)) {
+                    smallest.add(document.getItemId());
+                    if (smallest.size() > limit) {
+                        smallest.poll();
+                    }
+                }
+            }
+
+            List<Long> itemIds = new ArrayList<>(smallest);
+            Collections.sort(itemIds);
+            return itemIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Document> load(long fromId, long toId) {
+        return itemRepository.findAllByIdBetween(fromId, toId).stream()
+                .sorted(Comparator.comparing(Item::getId))
+                .map(ItemSubstringIndex::toDocument)
+                .collect(Collectors.toList());
+    }
+
+    private static Snapshot build(List<List<Document>> batches) {
+        int[] offsets = new int[batches.size()];
+        for (int i = 1; i < batches.size(); i++) {
+            offsets[i] = offsets[i - 1] + batches.get(i - 1).size();
+        }
+
+        List<Map<Long, PostingList>> partials = IntStream.range(0, batches.size())
+                .parallel()
+                .mapToObj(i -> {
+                    Map<Long, PostingList> partial = new HashMap<>();
+                    List<Document> batch = batches.get(i);
+                    for (int j = 0; j < batch.size(); j++) {
+                        int docId = offsets[i] + j;
+                        for (long gram : batch.get(j).grams()) {
+                            partial.computeIfAbsent(gram, g -> new PostingList()).add(docId);
+                        }
+                    }
+                    return partial;
+                })
+                .collect(Collectors.toList());
+
+        Map<Long, PostingList> postings = new HashMap<>();
+        for (Map<Long, PostingList> partial : partials) {
+            partial.forEach((gram, posting) -> postings.merge(gram, posting, (merged, next) -> {
+                merged.addAll(next);
+                return merged;
+            }));
+        }
+
+        List<Document> documents = batches.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+
+        return new Snapshot(postings, documents);
+    }
+
+    private void apply(Snapshot snapshot) {
+        postings = snapshot.getPostings();
+        documents = new ArrayList<>(snapshot.getDocuments());
+        documentByItem = new TreeMap<>();
+        for (int docId = 0; docId < documents.size(); docId++) {
+            documentByItem.put(documents.get(docId).getItemId(), docId);
+        }
+        deleted = new BitSet();
+        deletedCount = 0;
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount < COMPACTION_THRESHOLD || deletedCount < documents.size() / 2) {
+            return;
+        }
+
+        List<Document> live = new ArrayList<>(documentByItem.size());
+        for (int docId = 0; docId < documents.size(); docId++) {
+            if (!deleted.get(docId)) {
+                live.add(documents.get(docId));
+            }
+        }
+
+        apply(build(List.of(live)));
+    }
+
+    private void restore(long itemId, Document document) {
+        lock.writeLock().lock();
+        try {
+            if (document == null) {
+                remove(itemId);
+            } else {
+                put(itemId, document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopJournal() {
+        lock.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Document put(long itemId, Document document) {
+        Document previous = remove(itemId);
+        if (journal != null) {
+            journal.put(itemId, document);
+        }
+
+        int docId = documents.size();
+        documents.add(document);
+        documentByItem.put(itemId, docId);
+        for (long gram : document.grams()) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(docId);
+        }
+
+        return previous;
+    }
+
+    private Document remove(long itemId) {
+        if (journal != null) {
+            journal.put(itemId, null);
+        }
+
+        Integer docId = documentByItem.remove(itemId);
+        if (docId == null) {
+            return null;
+        }
+
+        deleted.set(docId);
+        deletedCount++;
+        return documents.get(docId);
+    }
+
+    private static Document toDocument(Item item) {
+        long ownerId = item.getOwner() == null ? 0 : item.getOwner().getId();
+        return new Document(item.getId(), ownerId, Boolean.TRUE.equals(item.getAvailable()),
+                normalize(item.getName()), normalize(item.getDescription()));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    @lombok.Value
+    private static class Document {
+        long itemId;
+        long ownerId;
+        boolean available;
+        String name;
+        String description;
+
+        boolean matches(String query, LongPredicate excluded) {
+            return available && (name.contains(query) || description.contains(query)) && !excluded.test(itemId);
+        }
+
+        Set<Long> grams() {
+            Set<Long> grams = ItemSubstringIndex.grams(name);
+            grams.addAll(ItemSubstringIndex.grams(description));
+            return grams;
+        }
+    }
+
+    @lombok.Value
+    private static class Snapshot {
+        Map<Long, PostingList> postings;
+        List<Document> documents;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.experimental.UtilityClass;
+import org.tartarus.snowball.SnowballProgram;
+import org.tartarus.snowball.ext.EnglishStemmer;
+import org.tartarus.snowball.ext.RussianStemmer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@UtilityClass
+public class ItemTextAnalyzer {
+
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        SnowballProgram russian = new RussianStemmer();
+        SnowballProgram english = new EnglishStemmer();
+        String normalized = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        int start = -1;
+
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letterOrDigit = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                String token = normalized.substring(start, i);
+                terms.add(stem(isCyrillic(token) ? russian : english, token));
+                start = -1;
+            }
+        }
+
+        return terms;
+    }
+
+    private static String stem(SnowballProgram stemmer, String token) {
+        stemmer.setCurrent(token);
+        stemmer.stem();
+        return stemmer.getCurrent();
+    }
+
+    private static boolean isCyrillic(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.UnicodeBlock.of(token.charAt(i)) == Character.UnicodeBlock.CYRILLIC) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+final class PostingList {
+    private byte[] data = new byte[4];
+    private int length;
+    private int size;
+    private int last = -1;
+
+    void add(int docId) {
+        if (docId <= last) {
+            throw new IllegalArgumentException(String.format(
+                    "Документ %s добавлен не по возрастанию, последний %s", docId, last));
+        }
+
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+
+        int delta = docId - last;
+        while ((delta & ~0x7F) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+
+        last = docId;
+        size++;
+    }
+
+    void addAll(PostingList other) {
+        int[] docIds = other.toArray();
+        for (int docId : docIds) {
+            add(docId);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        int[] docIds = new int[size];
+        Reader reader = new Reader();
+
+        for (int i = 0; i < size; i++) {
+            docIds[i] = reader.next();
+        }
+
+        return docIds;
+    }
+
+    int retain(int[] candidates, int count) {
+        Reader reader = new Reader();
+        int docId = -1;
+        int kept = 0;
+
+        for (int i = 0; i < count; i++) {
+            int candidate = candidates[i];
+
+            while (docId < candidate && reader.hasNext()) {
+                docId = reader.next();
+            }
+
+            if (docId == candidate) {
+                candidates[kept++] = candidate;
+            } else if (docId < candidate) {
+                break;
+            }
+        }
+
+        return kept;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    private final class Reader {
+        private int position;
+        private int docId = -1;
+        private int remaining = size;
+
+        boolean hasNext() {
+            return remaining > 0;
+        }
+
+        int next() {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            remaining--;
+            docId += delta;
+            return docId;
+        }
+    }
+}
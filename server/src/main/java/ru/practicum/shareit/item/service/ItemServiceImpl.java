@@ -1,8 +1,8 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
@@ -10,10 +10,13 @@ import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.frontier.BookingFrontierSelector;
+import ru.practicum.shareit.booking.frontier.BookingFrontierTracker;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.CommentRepository;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentEligibilityCache;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -21,6 +24,8 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSubstringIndex;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -30,18 +35,21 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static ru.practicum.shareit.util.Comparator.orderByStartDateAsc;
-import static ru.practicum.shareit.util.Comparator.orderByStartDateDesc;
-
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ItemServiceImpl implements ItemService {
+    private static final List<Status> COMMENT_ELIGIBLE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSubstringIndex itemSubstringIndex;
+    private final BookingFrontierTracker bookingFrontierTracker;
+    private final CommentEligibilityCache commentEligibilityCache;
 
     @Override
     public Item save(ItemDto itemDto, long ownerId) {
@@ -59,7 +67,11 @@ public class ItemServiceImpl implements ItemService {
             item.setItemRequest(itemRequest);
         }
 
-        return itemRepository.save(item);
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+        itemSubstringIndex.index(savedItem);
+
+        return savedItem;
     }
 
     @Override
@@ -83,6 +95,8 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemRepository.save(updatedItem);
+        itemSearchIndex.index(updatedItem);
+        itemSubstringIndex.index(updatedItem);
 
         return updatedItem;
     }
@@ -101,18 +115,13 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
 
-        List<Booking> bookings;
-
-        if (items.size() == 1) {
-            bookings = bookingRepository.findBookingsByItemId(items, userId, Status.APPROVED);
-        } else {
-            bookings = bookingRepository.findBookingsByItemIn(items);
-        }
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<Booking> bookings = findLastAndNextBookings(items, userId, currentTime);
 
         List<Comment> comments = commentRepository.findCommentsByItemInOrderByCreated(items);
 
-        Map<Item, List<Booking>> bookingsMap = bookings.stream()
-                .collect(Collectors.groupingBy(Booking::getItem));
+        Map<Long, List<Booking>> bookingsMap = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
 
         Map<Item, List<Comment>> commentsMap = comments.stream()
                 .collect(Collectors.groupingBy(Comment::getItem));
@@ -125,19 +134,31 @@ public class ItemServiceImpl implements ItemService {
                             .map(CommentMapper.INSTANCE::mapToCommentResponseDto)
                             .collect(Collectors.toList());
 
-                    List<Booking> itemBookings = bookingsMap.getOrDefault(item, Collections.emptyList());
+                    List<Booking> itemBookings = bookingsMap.getOrDefault(item.getId(), Collections.emptyList());
 
-                    Optional<Booking> lastOptional = getLastItem(itemBookings);
-                    Optional<Booking> nextOptional = getNextItem(itemBookings);
+                    BookingFrontierSelector.Selection selection = BookingFrontierSelector.select(itemBookings,
+                            currentTime);
 
-                    BookingDto last = lastOptional.map(BookingMapper.INSTANCE::mapFromBookingToBookingDto).orElse(null);
-                    BookingDto next = nextOptional.map(BookingMapper.INSTANCE::mapFromBookingToBookingDto).orElse(null);
+                    BookingDto last = BookingMapper.INSTANCE.mapFromBookingToBookingDto(selection.getLast());
+                    BookingDto next = BookingMapper.INSTANCE.mapFromBookingToBookingDto(selection.getNext());
 
                     return ItemMapper.INSTANCE.mapToItemAllFieldsDto(item, last, next, itemComments);
                 })
                 .collect(Collectors.toList());
     }
 
+    private List<Booking> findLastAndNextBookings(List<Item> items, long userId, LocalDateTime currentTime) {
+        if (items.size() == 1 && items.get(0).getOwner().getId() != userId) {
+            return Collections.emptyList();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        return bookingFrontierTracker.findLastAndNextBookings(itemIds, currentTime);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Collection<ItemAllFieldsDto> searchByText(String text, long userId, Pageable page) {
@@ -145,10 +166,40 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
 
-        List<Item> items = itemRepository.findItemsByText(text, page);
+        List<Long> itemIds = findItemIdsByText(text, page);
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+
+        List<Item> items = itemIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
         return findItemsDto(items, userId);
     }
 
+    private List<Long> findItemIdsByText(String text, Pageable page) {
+        if (page == null || page.isUnpaged()) {
+            Set<Long> itemIds = new LinkedHashSet<>(itemSearchIndex.search(text, Pageable.unpaged()));
+            itemIds.addAll(itemSubstringIndex.search(text));
+            return new ArrayList<>(itemIds);
+        }
+
+        int limit = Math.toIntExact(page.getOffset() + page.getPageSize());
+        Set<Long> itemIds = new LinkedHashSet<>(itemSearchIndex.search(text, PageRequest.of(0, limit)));
+        if (itemIds.size() < limit) {
+            itemIds.addAll(itemSubstringIndex.search(text, limit - itemIds.size(), itemIds::contains));
+        }
+
+        return itemIds.stream()
+                .skip(page.getOffset())
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Collection<ItemAllFieldsDto> findItemsByUserId(long userId, Pageable page) {
@@ -168,14 +219,12 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId).orElseThrow(() ->
                 new NotFoundException(String.format("Item %s не найден.", itemId)));
 
-        if (bookingRepository.findByBooker(user, Sort.unsorted()).isEmpty()) {
-            throw new ValidationException(String.format("У пользователя %s нету бронирований", user.getId()));
-        }
-
-        List<Booking> bookings = bookingRepository.findBookingByItemIdAndStatusNotInAndStartBefore(itemId,
-                List.of(Status.REJECTED), LocalDateTime.now());
-        if (bookings == null || bookings.isEmpty()) {
-            throw new ValidationException("Требуется бронирование для создания комментария ");
+        if (!commentEligibilityCache.isEligible(userId, itemId)) {
+            if (!bookingRepository.existsByBookerIdAndItemIdAndStatusInAndStartBefore(userId, itemId,
+                    COMMENT_ELIGIBLE_STATUSES, LocalDateTime.now())) {
+                throw new ValidationException("Требуется бронирование для создания комментария ");
+            }
+            commentEligibilityCache.markEligible(userId, itemId);
         }
 
         Comment comment = Comment.builder()
@@ -188,22 +237,4 @@ public class ItemServiceImpl implements ItemService {
         Comment savedComment = commentRepository.save(comment);
         return CommentMapper.INSTANCE.mapToCommentResponseDto(savedComment);
     }
-
-    private Optional<Booking> getNextItem(List<Booking> bookings) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        return bookings.stream()
-                .sorted(orderByStartDateAsc)
-                .filter(t -> t.getStart().isAfter(currentTime) &&
-                        t.getStatus().equals(Status.APPROVED))
-                .findFirst();
-    }
-
-    private Optional<Booking> getLastItem(List<Booking> bookings) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        return bookings.stream()
-                .sorted(orderByStartDateDesc)
-                .filter(t -> t.getStart().isBefore(currentTime) &&
-                        t.getStatus().equals(Status.APPROVED))
-                .findFirst();
-    }
-}
\ No newline at end of file
+}
@@ -15,6 +15,7 @@ import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.existence.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -27,6 +28,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceService userExistenceService;
 
     @Override
     public ItemRequest saveItemRequest(String description, long userId) {
@@ -45,10 +47,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public Collection<ItemRequestResponseDto> findOwnItemRequests(long userId) {
-        User requestor = userRepository.findById(userId).orElseThrow(() ->
-                new NotFoundException(String.format("Пользователь %s не найден.", userId)));
+        userExistenceService.requireExists(userId);
 
-        List<ItemRequest> requests = itemRequestRepository.findItemRequestsByRequestorId(requestor.getId());
+        List<ItemRequest> requests = itemRequestRepository.findItemRequestsByRequestorId(userId);
         Map<ItemRequest, List<Item>> map = findItemsToItemRequests(requests);
 
         return requests.stream()
@@ -67,18 +68,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public Collection<ItemRequestResponseDto> findAllItemRequests(long userId, Pageable page) {
-        User user = userRepository.findById(userId).orElseThrow(() ->
-                new NotFoundException(String.format("Пользователь %s не найден.", userId)));
+        userExistenceService.requireExists(userId);
 
-        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdNot(user.getId(), page);
+        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdNot(userId, page);
         Map<ItemRequest, List<Item>> map = findItemsToItemRequests(requests);
         return mapToDto(map);
     }
 
     @Override
     public ItemRequestResponseDto findItemRequestsById(long userId, long requestId) {
-        userRepository.findById(userId).orElseThrow(() ->
-                new NotFoundException(String.format("Пользователь %s не найден.", userId)));
+        userExistenceService.requireExists(userId);
 
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() ->
                 new NotFoundException(String.format("Запрос %s не найден.", requestId)));
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -12,9 +15,12 @@ import javax.persistence.*;
 @Setter
 @ToString
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name")
@@ -22,4 +28,9 @@ public class User {
 
     @Column(name = "email")
     private String email;
+
+    @Column(name = "email_normalized", insertable = false, updatable = false)
+    @ToString.Exclude
+    @JsonIgnore
+    private String emailNormalized;
 }
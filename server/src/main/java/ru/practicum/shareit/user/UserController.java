@@ -1,13 +1,21 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.aspect.ToLog;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
-import java.util.Collection;
-import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static ru.practicum.shareit.util.Constant.NEXT_CURSOR_HEADER;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -15,6 +23,7 @@ import java.util.stream.Collectors;
 @ToLog
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public UserDto saveUser(@RequestBody UserDto userDto) {
@@ -34,13 +43,34 @@ public class UserController {
         return UserMapper.INSTANCE.mapToUserDto(user);
     }
 
+    @GetMapping(params = "size")
+    public ResponseEntity<List<UserDto>> findUsers(@RequestParam(defaultValue = "0") long after,
+                                                   @RequestParam int size) {
+        List<UserDto> users = userService.findAll(after, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (users.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(users.get(users.size() - 1).getId()));
+        }
+
+        return response.body(users);
+    }
+
     @GetMapping
-    public Collection<UserDto> findAllUsers() {
-        return userService
-                .findAll()
-                .stream()
-                .map(UserMapper.INSTANCE::mapToUserDto)
-                .collect(Collectors.toList());
+    public void findAllUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            userService.forEachUser(user -> {
+                try {
+                    generator.writeObject(user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -8,6 +8,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 public interface UserMapper {
     UserMapper INSTANCE = Mappers.getMapper(UserMapper.class);
 
+    @Mapping(target = "emailNormalized", ignore = true)
     User mapToUser(UserDto userDto);
 
     UserDto mapToUserDto(User user);
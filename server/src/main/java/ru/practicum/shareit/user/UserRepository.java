@@ -1,6 +1,22 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable page);
+
+    @Query("select new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) from User u " +
+            "where u.id > :afterId order by u.id")
+    List<UserDto> findUsersAfter(@Param("afterId") long afterId, Pageable page);
+
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    boolean existsByEmailNormalizedAndIdNot(String emailNormalized, long id);
 }
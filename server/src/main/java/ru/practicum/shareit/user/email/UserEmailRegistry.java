@@ -0,0 +1,89 @@
+package ru.practicum.shareit.user.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+@Component
+public class UserEmailRegistry {
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int batchSize;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+
+    public UserEmailRegistry(UserRepository userRepository,
+                             @Value("${shareit.user.email.expected-insertions:1000000}") long expectedInsertions,
+                             @Value("${shareit.user.email.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${shareit.user.email.batch-size:10000}") int batchSize) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.batchSize = batchSize;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shareit.user.email.refresh-delay:600000}",
+            initialDelayString = "${shareit.user.email.refresh-delay:600000}")
+    public synchronized void rebuild() {
+        BloomFilter snapshot = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = snapshot;
+
+        try {
+            long afterId = 0;
+            int count = 0;
+
+            List<UserDto> batch;
+            do {
+                batch = userRepository.findUsersAfter(afterId, PageRequest.of(0, batchSize));
+                for (UserDto user : batch) {
+                    snapshot.put(normalize(user.getEmail()));
+                    afterId = user.getId();
+                }
+                count += batch.size();
+            } while (batch.size() == batchSize);
+
+            filter = snapshot;
+            log.debug("Фильтр email пользователей обновлён: {} адресов", count);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    public boolean isTaken(String email) {
+        String normalized = normalize(email);
+        return filter.mightContain(normalized) && userRepository.existsByEmailNormalized(normalized);
+    }
+
+    public boolean isTakenByOther(String email, long userId) {
+        String normalized = normalize(email);
+        return filter.mightContain(normalized) && userRepository.existsByEmailNormalizedAndIdNot(normalized, userId);
+    }
+
+    public void register(String email) {
+        String normalized = normalize(email);
+        filter.put(normalized);
+
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(normalized);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.user.existence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class UserExistenceService {
+    private final UserRepository userRepository;
+    private final int batchSize;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile AtomicLongArray words = new AtomicLongArray(0);
+    private volatile long deletions;
+
+    public UserExistenceService(UserRepository userRepository,
+                                @Value("${shareit.user.existence.batch-size:10000}") int batchSize) {
+        this.userRepository = userRepository;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shareit.user.existence.refresh-delay:60000}",
+            initialDelayString = "${shareit.user.existence.refresh-delay:60000}")
+    public void rebuild() {
+        long epoch = currentEpoch();
+        BitSet snapshot = new BitSet();
+        long afterId = 0;
+        int count = 0;
+
+        List<Long> batch;
+        do {
+            batch = userRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+            for (Long id : batch) {
+                if (fits(id)) {
+                    snapshot.set(id.intValue());
+                }
+                afterId = id;
+            }
+            count += batch.size();
+        } while (batch.size() == batchSize);
+
+        if (replace(snapshot, epoch)) {
+            log.debug("Индекс пользователей обновлён: {} пользователей", count);
+        }
+    }
+
+    public void requireExists(long userId) {
+        if (!exists(userId)) {
+            throw new NotFoundException(String.format("Пользователь %s не найден.", userId));
+        }
+    }
+
+    public void requireExistsInDatabase(long userId) {
+        if (!userRepository.existsById(userId)) {
+            remove(userId);
+            throw new NotFoundException(String.format("Пользователь %s не найден.", userId));
+        }
+    }
+
+    public boolean exists(long userId) {
+        long epoch = deletions;
+        if (contains(userId)) {
+            return true;
+        }
+
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            add(userId, epoch);
+        }
+        return exists;
+    }
+
+    public void register(long userId) {
+        long epoch = currentEpoch();
+        TransactionCallbacks.afterCommit(() -> add(userId, epoch));
+    }
+
+    public void unregister(long userId) {
+        remove(userId);
+        TransactionCallbacks.afterCompletion(() -> remove(userId));
+    }
+
+    private long currentEpoch() {
+        return deletions;
+    }
+
+    private boolean contains(long userId) {
+        AtomicLongArray current = words;
+        int index = (int) (userId >>> 6);
+        return fits(userId) && index < current.length() && (current.get(index) & (1L << userId)) != 0;
+    }
+
+    private void add(long userId, long epoch) {
+        writeLock.lock();
+        try {
+            if (epoch != deletions || !fits(userId)) {
+                return;
+            }
+
+            int index = (int) (userId >>> 6);
+            AtomicLongArray current = words;
+            if (index >= current.length()) {
+                AtomicLongArray grown = new AtomicLongArray(Math.max(index + 1, current.length() * 2));
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                words = grown;
+                current = grown;
+            }
+            current.set(index, current.get(index) | (1L << userId));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void remove(long userId) {
+        writeLock.lock();
+        try {
+            deletions++;
+
+            int index = (int) (userId >>> 6);
+            AtomicLongArray current = words;
+            if (fits(userId) && index < current.length()) {
+                current.set(index, current.get(index) & ~(1L << userId));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean replace(BitSet snapshot, long epoch) {
+        writeLock.lock();
+        try {
+            if (epoch != deletions) {
+                return false;
+            }
+            words = new AtomicLongArray(snapshot.toLongArray());
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static boolean fits(long userId) {
+        return userId >= 0 && userId <= Integer.MAX_VALUE;
+    }
+}
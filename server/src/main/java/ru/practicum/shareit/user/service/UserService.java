@@ -1,8 +1,11 @@
 package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -14,5 +17,9 @@ public interface UserService {
 
     Collection<User> findAll();
 
+    List<UserDto> findAll(long afterId, int size);
+
+    long forEachUser(Consumer<UserDto> consumer);
+
     void deleteById(long id);
 }
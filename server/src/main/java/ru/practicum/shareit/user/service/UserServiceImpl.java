@@ -2,30 +2,55 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
 import ru.practicum.shareit.exception.AlreadyExistsException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSubstringIndex;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.email.UserEmailRegistry;
+import ru.practicum.shareit.user.existence.UserExistenceService;
 
 import org.springframework.transaction.annotation.Transactional;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserServiceImpl implements UserService {
+    private static final int EXPORT_BATCH_SIZE = 500;
+
     private final UserRepository userRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSubstringIndex itemSubstringIndex;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final UserExistenceService userExistenceService;
+    private final UserEmailRegistry userEmailRegistry;
 
     @Override
     public User save(User user) {
+        if (userEmailRegistry.isTaken(user.getEmail())) {
+            throw alreadyExists(user.getEmail());
+        }
+
+        User savedUser;
         try {
-            return userRepository.save(user);
+            savedUser = userRepository.saveAndFlush(user);
         } catch (DataIntegrityViolationException e) {
-            throw new AlreadyExistsException(String.format(
-                    "Пользователь с %s уже зарегистрирован", user.getEmail()
-            ));
+            throw alreadyExists(user.getEmail());
         }
+
+        userEmailRegistry.register(savedUser.getEmail());
+        userExistenceService.register(savedUser.getId());
+        return savedUser;
     }
 
     @Override
@@ -37,16 +62,21 @@ public class UserServiceImpl implements UserService {
             updatedUser.setName(user.getName());
         }
         if (user.getEmail() != null && !updatedUser.getEmail().isBlank()) {
+            if (userEmailRegistry.isTakenByOther(user.getEmail(), userId)) {
+                throw alreadyExists(user.getEmail());
+            }
             updatedUser.setEmail(user.getEmail());
         }
 
+        User savedUser;
         try {
-            return userRepository.saveAndFlush(updatedUser);
+            savedUser = userRepository.saveAndFlush(updatedUser);
         } catch (DataIntegrityViolationException e) {
-            throw new AlreadyExistsException(String.format(
-                    "Пользователь с %s уже зарегистрирован", updatedUser.getEmail()
-            ));
+            throw alreadyExists(updatedUser.getEmail());
         }
+
+        userEmailRegistry.register(savedUser.getEmail());
+        return savedUser;
     }
 
     @Override
@@ -62,8 +92,42 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> findAll(long afterId, int size) {
+        return userRepository.findUsersAfter(afterId, PageRequest.of(0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachUser(Consumer<UserDto> consumer) {
+        long afterId = 0;
+        long count = 0;
+
+        List<UserDto> users;
+        do {
+            users = userRepository.findUsersAfter(afterId, PageRequest.of(0, EXPORT_BATCH_SIZE));
+            users.forEach(consumer);
+            if (!users.isEmpty()) {
+                afterId = users.get(users.size() - 1).getId();
+            }
+            count += users.size();
+        } while (users.size() == EXPORT_BATCH_SIZE);
+
+        return count;
+    }
+
     @Override
     public void deleteById(long id) {
         userRepository.deleteById(id);
+        userExistenceService.unregister(id);
+        entityCacheEvictor.evictItems();
+        bookingIntervalIndex.evictAll();
+        itemSearchIndex.removeByOwner(id);
+        itemSubstringIndex.removeByOwner(id);
+    }
+
+    private static AlreadyExistsException alreadyExists(String email) {
+        return new AlreadyExistsException(String.format("Пользователь с %s уже зарегистрирован", email));
     }
 }
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS item_booking_frontiers
+(
+    item_id         BIGINT NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    last_booking_id BIGINT REFERENCES bookings (id) ON DELETE CASCADE,
+    next_booking_id BIGINT REFERENCES bookings (id) ON DELETE CASCADE,
+    next_start_date TIMESTAMP WITHOUT TIME ZONE,
+    version         BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_item_booking_frontier PRIMARY KEY (item_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_frontiers_next_start ON item_booking_frontiers (next_start_date);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_start ON bookings (booker_id, item_id, status, start_date);
@@ -0,0 +1,162 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class SchemaIndexTests {
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void init() {
+        for (long user = 1; user <= 20; user++) {
+            jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, 'name', ?)",
+                    user, "user" + user + "@mail.com");
+            jdbcTemplate.update("INSERT INTO item_requests (id, description, created_date, requestor_id) " +
+                    "VALUES (?, 'description', DATEADD('DAY', ?, CURRENT_TIMESTAMP), ?)", user, -user, user);
+        }
+
+        for (long item = 1; item <= 200; item++) {
+            jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id, request_id) " +
+                    "VALUES (?, 'name', 'description', TRUE, ?, ?)", item, item % 20 + 1, item % 20 + 1);
+            jdbcTemplate.update("INSERT INTO comments (id, text, created_date, item_id, author_id) " +
+                    "VALUES (?, 'text', CURRENT_TIMESTAMP, ?, ?)", item, item, item % 20 + 1);
+        }
+
+        String[] statuses = {"WAITING", "APPROVED", "REJECTED"};
+        for (long booking = 1; booking <= 2000; booking++) {
+            jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, status, booker_id, item_id) " +
+                            "VALUES (?, DATEADD('DAY', ?, CURRENT_TIMESTAMP), DATEADD('DAY', ?, CURRENT_TIMESTAMP), " +
+                            "?, ?, ?)",
+                    booking, booking % 100 - 50, booking % 100 - 49, statuses[(int) (booking % 3)],
+                    booking % 20 + 1, booking % 200 + 1);
+        }
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void shouldCreateIndexesForListingQueries() {
+        Map<String, String> indexes = new TreeMap<>();
+        jdbcTemplate.query("SELECT INDEX_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                        "WHERE INDEX_NAME LIKE 'IDX\\_%' ORDER BY INDEX_NAME, ORDINAL_POSITION",
+                rs -> {
+                    indexes.merge(rs.getString("INDEX_NAME"), rs.getString("COLUMN_NAME"),
+                            (columns, column) -> columns + "," + column);
+                });
+
+        assertThat(indexes, equalTo(Map.ofEntries(
+                Map.entry("IDX_BOOKINGS_BOOKER_START", "BOOKER_ID,START_DATE"),
+                Map.entry("IDX_BOOKINGS_BOOKER_STATUS_START", "BOOKER_ID,STATUS,START_DATE"),
+                Map.entry("IDX_BOOKINGS_ITEM_STATUS_START", "ITEM_ID,STATUS,START_DATE"),
+                Map.entry("IDX_ITEMS_OWNER_ID", "OWNER_ID,ID"),
+                Map.entry("IDX_ITEMS_REQUEST", "REQUEST_ID"),
+                Map.entry("IDX_COMMENTS_ITEM_CREATED", "ITEM_ID,CREATED_DATE"),
+                Map.entry("IDX_ITEM_REQUESTS_REQUESTOR_CREATED", "REQUESTOR_ID,CREATED_DATE"),
+                Map.entry("IDX_ITEM_REQUESTS_CREATED", "CREATED_DATE"),
+                Map.entry("IDX_ITEM_BOOKING_FRONTIERS_NEXT_START", "NEXT_START_DATE"),
+                Map.entry("IDX_BOOKINGS_BOOKER_ITEM_STATUS_START", "BOOKER_ID,ITEM_ID,STATUS,START_DATE"),
+                Map.entry("IDX_USERS_EMAIL_NORMALIZED", "EMAIL_NORMALIZED"))));
+    }
+
+    @Test
+    void shouldUseBookerStartIndexForBookerListingByTime() {
+        String plan = explain("SELECT * FROM bookings b " +
+                "WHERE b.booker_id = 1 AND b.start_date > CURRENT_TIMESTAMP " +
+                "ORDER BY b.start_date DESC, b.id DESC");
+
+        assertThat(plan, containsString("IDX_BOOKINGS_BOOKER_START"));
+    }
+
+    @Test
+    void shouldUseBookerStartIndexForBookerPastListing() {
+        String plan = explain("SELECT * FROM bookings b " +
+                "WHERE b.booker_id = 1 AND b.start_date < CURRENT_TIMESTAMP AND b.end_date < CURRENT_TIMESTAMP " +
+                "ORDER BY b.start_date DESC, b.id DESC");
+
+        assertThat(plan, containsString("IDX_BOOKINGS_BOOKER_START"));
+    }
+
+    @Test
+    void shouldUseBookerStatusIndexForBookerListingByStatus() {
+        String plan = explain("SELECT * FROM bookings b " +
+                "WHERE b.booker_id = 1 AND b.status = 'WAITING' " +
+                "ORDER BY b.start_date DESC, b.id DESC");
+
+        assertThat(plan, containsString("IDX_BOOKINGS_BOOKER_STATUS_START"));
+    }
+
+    @Test
+    void shouldUseBookerItemIndexForCommentEligibility() {
+        String plan = explain("SELECT EXISTS (SELECT 1 FROM bookings b " +
+                "WHERE b.booker_id = 1 AND b.item_id = 1 AND b.status IN ('WAITING', 'APPROVED') " +
+                "AND b.start_date < CURRENT_TIMESTAMP)");
+
+        assertThat(plan, containsString("IDX_BOOKINGS_BOOKER_ITEM_STATUS_START"));
+    }
+
+    @Test
+    void shouldNotScanTablesForOwnerListing() {
+        String plan = explain("SELECT * FROM bookings b " +
+                "WHERE b.item_id IN (SELECT i.id FROM items i WHERE i.owner_id = 1) AND b.status = 'WAITING' " +
+                "ORDER BY b.start_date DESC, b.id DESC");
+
+        assertThat(plan, not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    void shouldNotScanTablesForItemBookings() {
+        String plan = explain("SELECT * FROM bookings b " +
+                "WHERE b.item_id IN (1, 2, 3) AND b.status = 'APPROVED' " +
+                "ORDER BY b.start_date");
+
+        assertThat(plan, not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    void shouldNotScanTablesForOwnerItems() {
+        assertThat(explain("SELECT * FROM items i WHERE i.owner_id = 1 ORDER BY i.id"),
+                not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    void shouldNotScanTablesForItemsByRequests() {
+        assertThat(explain("SELECT * FROM items i WHERE i.request_id IN (1, 2, 3)"),
+                not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    void shouldNotScanTablesForComments() {
+        assertThat(explain("SELECT * FROM comments c WHERE c.item_id IN (1, 2, 3) ORDER BY c.created_date"),
+                not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    void shouldNotScanTablesForOwnRequests() {
+        assertThat(explain("SELECT * FROM item_requests r WHERE r.requestor_id = 1"),
+                not(containsString(TABLE_SCAN)));
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SchemaMigrationTests {
+    private static final long ALLOCATION_SIZE = 50;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void init() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration-" + System.nanoTime() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "test", "test");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_schema.sql")).execute(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@mail.com')");
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (2, 'booker', 'booker@mail.com')");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) " +
+                "VALUES (1, 'name', 'description', TRUE, 1)");
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, status, booker_id, item_id) " +
+                "VALUES (1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'WAITING', 2, 1)");
+    }
+
+    @Test
+    void shouldUpgradeDatabaseCreatedFromBaselineSchema() {
+        migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM items WHERE id = 1", Long.class), equalTo(0L));
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM bookings WHERE id = 1", Long.class),
+                equalTo(0L));
+    }
+
+    @Test
+    void shouldTakeBookingIdsFromSequenceAfterMigration() {
+        migrate();
+
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, status, booker_id, item_id) " +
+                "VALUES (CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'WAITING', 2, 1)");
+
+        assertIdOutsideNextAllocation("bookings", "booking_seq");
+    }
+
+    @Test
+    void shouldTakeEntityIdsFromSequencesAfterMigration() {
+        migrate();
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('requestor', 'requestor@mail.com')");
+        jdbcTemplate.update("INSERT INTO item_requests (description, created_date, requestor_id) " +
+                "VALUES ('description', CURRENT_TIMESTAMP, 2)");
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) " +
+                "VALUES ('name', 'description', TRUE, 1)");
+        jdbcTemplate.update("INSERT INTO comments (text, created_date, item_id, author_id) " +
+                "VALUES ('text', CURRENT_TIMESTAMP, 1, 2)");
+
+        assertIdOutsideNextAllocation("users", "user_seq");
+        assertIdOutsideNextAllocation("item_requests", "item_request_seq");
+        assertIdOutsideNextAllocation("items", "item_seq");
+        assertIdOutsideNextAllocation("comments", "comment_seq");
+    }
+
+    @Test
+    void shouldRejectEmailsDifferingOnlyInCase() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (3, 'copy', 'Owner@Mail.com')");
+
+        FlywayException exception = assertThrows(FlywayException.class, this::migrate);
+
+        assertThat(NestedExceptionUtils.getMostSpecificCause(exception).getMessage(),
+                containsString("owner@mail.com"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class), equalTo(3L));
+    }
+
+    private void assertIdOutsideNextAllocation(String table, String sequence) {
+        long id = jdbcTemplate.queryForObject(String.format("SELECT MAX(id) FROM %s", table), Long.class);
+        long next = jdbcTemplate.queryForObject(String.format("SELECT nextval('%s')", sequence), Long.class);
+
+        assertThat(id, greaterThan(1L));
+        assertThat(id, lessThanOrEqualTo(next - ALLOCATION_SIZE));
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.frontier.BookingFrontierSelector;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.util.Comparator.orderByStartDateAsc;
+import static ru.practicum.shareit.util.Comparator.orderByStartDateDesc;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingFrontierSelectorBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int bookingsPerItem;
+
+    private List<Booking> bookings;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Status[] statuses = Status.values();
+        now = LocalDateTime.now();
+        bookings = new ArrayList<>(bookingsPerItem);
+
+        for (long id = 0; id < bookingsPerItem; id++) {
+            LocalDateTime start = now.plusMinutes(random.nextInt(2 * 24 * 60 * 365) - 24 * 60 * 365);
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .start(start)
+                    .end(start.plusHours(1))
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void sortedStreams(Blackhole blackhole) {
+        blackhole.consume(bookings.stream()
+                .sorted(orderByStartDateDesc)
+                .filter(t -> t.getStart().isBefore(LocalDateTime.now()) && t.getStatus().equals(Status.APPROVED))
+                .findFirst());
+        blackhole.consume(bookings.stream()
+                .sorted(orderByStartDateAsc)
+                .filter(t -> t.getStart().isAfter(LocalDateTime.now()) && t.getStatus().equals(Status.APPROVED))
+                .findFirst());
+    }
+
+    @Benchmark
+    public BookingFrontierSelector.Selection singlePass() {
+        return BookingFrontierSelector.select(bookings, now);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingFrontierSelectorBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.listing.BookingRole;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Constant.SORT_BY_START_DATE_AND_ID_DESC;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingListingBenchmark {
+    private static final int ITEMS = 50;
+    private static final int BOOKINGS_PER_ITEM = 200;
+
+    @Param({"10", "32", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private BookingRepository bookingRepository;
+    private EntityManager entityManager;
+    private long bookerId;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.root=WARN", "--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:listing-benchmark;MODE=PostgreSQL");
+
+        UserService userService = context.getBean(UserService.class);
+        ItemService itemService = context.getBean(ItemService.class);
+        BookingService bookingService = context.getBean(BookingService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        long ownerId = userService.save(User.builder().name("owner").email("owner@benchmark.ru").build()).getId();
+        bookerId = userService.save(User.builder().name("booker").email("booker@benchmark.ru").build()).getId();
+        now = LocalDateTime.now();
+
+        List<BookingSavingDto> bookings = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            long itemId = itemService.save(ItemDto.builder()
+                    .name("item " + i)
+                    .description("description")
+                    .available(true)
+                    .build(), ownerId).getId();
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = now.plusDays(j + 1);
+                bookings.add(new BookingSavingDto(itemId, start, start.plusHours(1)));
+            }
+        }
+        bookingService.saveAll(bookings, bookerId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingAllFieldsDto> entities() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("select b from Booking b " +
+                        "join fetch b.booker " +
+                        "join fetch b.item " +
+                        "where b.booker.id = :bookerId " +
+                        "order by b.start desc, b.id desc", Booking.class)
+                .setParameter("bookerId", bookerId)
+                .setMaxResults(pageSize)
+                .getResultList().stream()
+                .map(BookingMapper.INSTANCE::mapToBookingAllFieldsDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<BookingAllFieldsDto> projections() {
+        return transactionTemplate.execute(status -> bookingRepository.findBookings(BookingRole.BOOKER, bookerId,
+                ru.practicum.shareit.booking.enums.State.ALL, now, null,
+                PageRequest.of(0, pageSize, SORT_BY_START_DATE_AND_ID_DESC)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingListingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(EntityInsertBenchmark.ROWS)
+public class EntityInsertBenchmark {
+    static final int ROWS = 1000;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "users", "name, email",
+            "item_requests", "description, created_date, requestor_id",
+            "items", "name, description, available, owner_id, request_id",
+            "comments", "text, created_date, item_id, author_id",
+            "bookings", "start_date, end_date, status, booker_id, item_id"
+    );
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users", "user_seq",
+            "item_requests", "item_request_seq",
+            "items", "item_seq",
+            "comments", "comment_seq",
+            "bookings", "booking_seq"
+    );
+
+    @Param({"users", "item_requests", "items", "comments", "bookings"})
+    private String table;
+
+    private Connection connection;
+    private String identityInsert;
+    private String sequenceInsert;
+    private String nextValue;
+    private long counter;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = System.getProperty("shareit.benchmark.url", "jdbc:h2:mem:benchmark;MODE=PostgreSQL");
+        String user = System.getProperty("shareit.benchmark.user", "test");
+        String password = System.getProperty("shareit.benchmark.password", "test");
+
+        connection = DriverManager.getConnection(url, user, password);
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .load()
+                .migrate();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, name, email) VALUES (-1, 'owner', 'owner@benchmark.ru')");
+            statement.execute("INSERT INTO item_requests (id, description, created_date, requestor_id) " +
+                    "VALUES (-1, 'description', CURRENT_TIMESTAMP, -1)");
+            statement.execute("INSERT INTO items (id, name, description, available, owner_id, request_id) " +
+                    "VALUES (-1, 'name', 'description', TRUE, -1, -1)");
+        }
+
+        String columns = COLUMNS.get(table);
+        String placeholders = "?" + ", ?".repeat(columns.split(",").length - 1);
+        identityInsert = String.format("INSERT INTO %s (%s) VALUES (%s)", table, columns, placeholders);
+        sequenceInsert = String.format("INSERT INTO %s (id, %s) VALUES (?, %s)", table, columns, placeholders);
+        nextValue = String.format("SELECT nextval('%s')", SEQUENCES.get(table));
+
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM users");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    public void identity() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(identityInsert,
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                bind(insert, 1);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public void pooledSequence() throws SQLException {
+        try (PreparedStatement sequence = connection.prepareStatement(nextValue);
+             PreparedStatement insert = connection.prepareStatement(sequenceInsert)) {
+            long id = 0;
+            long hi = 0;
+
+            for (int i = 0; i < ROWS; i++) {
+                if (id == hi) {
+                    try (ResultSet resultSet = sequence.executeQuery()) {
+                        resultSet.next();
+                        hi = resultSet.getLong(1);
+                    }
+                    id = hi - ALLOCATION_SIZE;
+                }
+
+                insert.setLong(1, ++id);
+                bind(insert, 2);
+                insert.addBatch();
+
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private void bind(PreparedStatement insert, int index) throws SQLException {
+        long n = counter++;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        switch (table) {
+            case "users":
+                insert.setString(index, "name");
+                insert.setString(index + 1, "user" + n + "@benchmark.ru");
+                break;
+            case "item_requests":
+                insert.setString(index, "description");
+                insert.setTimestamp(index + 1, now);
+                insert.setLong(index + 2, -1);
+                break;
+            case "items":
+                insert.setString(index, "name");
+                insert.setString(index + 1, "description");
+                insert.setBoolean(index + 2, true);
+                insert.setLong(index + 3, -1);
+                insert.setLong(index + 4, -1);
+                break;
+            case "comments":
+                insert.setString(index, "text");
+                insert.setTimestamp(index + 1, now);
+                insert.setLong(index + 2, -1);
+                insert.setLong(index + 3, -1);
+                break;
+            default:
+                insert.setTimestamp(index, Timestamp.valueOf(LocalDateTime.now().plusDays(n)));
+                insert.setTimestamp(index + 1, Timestamp.valueOf(LocalDateTime.now().plusDays(n + 1)));
+                insert.setString(index + 2, "WAITING");
+                insert.setLong(index + 3, -1);
+                insert.setLong(index + 4, -1);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EntityInsertBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServerThreadingBenchmark {
+    private static final int USERS = 100;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"1000", "5000"})
+    private int clients;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest request;
+    private ExecutorService load;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .run("--server.port=0", "--logging.level.root=WARN", "--spring.jpa.show-sql=false",
+                        "--server.tomcat.accept-count=" + clients,
+                        "--server.tomcat.max-connections=" + (clients * 2),
+                        "--shareit.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:threading-benchmark;MODE=PostgreSQL");
+
+        UserService userService = context.getBean(UserService.class);
+        for (int i = 0; i < USERS; i++) {
+            userService.save(User.builder().name("user " + i).email("user" + i + "@benchmark.ru").build());
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users?size=20")).build();
+
+        running = true;
+        load = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 1; i < clients; i++) {
+            load.execute(this::sendUntilStopped);
+        }
+        Thread.sleep(Duration.ofSeconds(5).toMillis());
+    }
+
+    @TearDown
+    public void tearDown() {
+        running = false;
+        load.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int findUsers() throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void sendUntilStopped() {
+        while (running) {
+            try {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                continue;
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ServerThreadingBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingBatchTests {
+    private static final int ITEMS = 100;
+    private static final int BOOKINGS_PER_ITEM = 100;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void shouldSaveLargeBatch() {
+        long ownerId = userService.save(User.builder().name("owner").email("owner@email.ru").build()).getId();
+        long bookerId = userService.save(User.builder().name("booker").email("booker@email.ru").build()).getId();
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+
+        List<BookingSavingDto> bookingSavingDtos = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            long itemId = saveItem(ownerId);
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = base.plusDays(j);
+                bookingSavingDtos.add(new BookingSavingDto(itemId, start, start.plusHours(12)));
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        List<Booking> bookings = bookingService.saveAll(bookingSavingDtos, bookerId);
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        log.info("Пакет из {} бронирований сохранен за {} мс", bookings.size(), elapsedMillis);
+        assertThat(bookingRepository.count(), equalTo((long) ITEMS * BOOKINGS_PER_ITEM));
+
+        long itemId = bookingSavingDtos.get(0).getItemId();
+        assertThrows(NotAvailableException.class, () ->
+                bookingService.save(itemId, base.plusHours(6), base.plusHours(18), bookerId));
+        assertDoesNotThrow(() ->
+                bookingService.save(itemId, base.plusHours(12), base.plusDays(1), bookerId));
+    }
+
+    @Test
+    void shouldNotSaveAnythingWhenBatchConflicts() {
+        long ownerId = userService.save(User.builder().name("owner").email("owner@email.ru").build()).getId();
+        long bookerId = userService.save(User.builder().name("booker").email("booker@email.ru").build()).getId();
+        long itemId = saveItem(ownerId);
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+
+        List<BookingSavingDto> bookingSavingDtos = List.of(
+                new BookingSavingDto(itemId, base, base.plusDays(1)),
+                new BookingSavingDto(itemId, base.plusHours(12), base.plusDays(2)));
+
+        assertThrows(NotAvailableException.class, () -> bookingService.saveAll(bookingSavingDtos, bookerId));
+        assertThat(bookingRepository.count(), equalTo(0L));
+        assertDoesNotThrow(() -> bookingService.save(itemId, base, base.plusDays(1), bookerId));
+    }
+
+    private long saveItem(long ownerId) {
+        ItemDto itemDto = ItemDto.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+        return itemService.save(itemDto, ownerId).getId();
+    }
+}
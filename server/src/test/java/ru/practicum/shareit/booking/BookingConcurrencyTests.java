@@ -0,0 +1,169 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Slf4j
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingConcurrencyTests {
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 50;
+    private static final int SLOTS = 20;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+
+    private long ownerId;
+    private long bookerId;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void init() {
+        ownerId = userService.save(User.builder().name("owner").email("owner@email.ru").build()).getId();
+        bookerId = userService.save(User.builder().name("booker").email("booker@email.ru").build()).getId();
+        base = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void shouldAcceptEachSlotOfHotItemOnce() throws Exception {
+        long itemId = saveItem();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        long elapsed = hammer((thread, request) -> {
+            int slot = (thread * 7 + request) % SLOTS;
+            LocalDateTime start = base.plusDays(slot);
+            try {
+                bookingService.save(itemId, start, start.plusHours(12), bookerId);
+                accepted.incrementAndGet();
+            } catch (NotAvailableException | ConcurrencyFailureException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        report("одна вещь", elapsed, accepted.get(), conflicts.get());
+        assertThat(accepted.get(), equalTo(SLOTS));
+        assertThat(conflicts.get(), equalTo(THREADS * REQUESTS_PER_THREAD - SLOTS));
+        assertThat(bookingRepository.count(), equalTo((long) SLOTS));
+    }
+
+    @Test
+    void shouldAcceptAllBookingsOfIndependentItems() throws Exception {
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            itemIds.add(saveItem());
+        }
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        long elapsed = hammer((thread, request) -> {
+            LocalDateTime start = base.plusDays(request);
+            try {
+                bookingService.save(itemIds.get(thread), start, start.plusHours(12), bookerId);
+                accepted.incrementAndGet();
+            } catch (NotAvailableException | ConcurrencyFailureException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        report("разные вещи", elapsed, accepted.get(), conflicts.get());
+        assertThat(accepted.get(), equalTo(THREADS * REQUESTS_PER_THREAD));
+        assertThat(conflicts.get(), equalTo(0));
+    }
+
+    @Test
+    void shouldApproveBookingOnlyOnce() throws Exception {
+        long itemId = saveItem();
+        long bookingId = bookingService.save(itemId, base, base.plusDays(1), bookerId).getId();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        long elapsed = hammer((thread, request) -> {
+            try {
+                bookingService.updateAvailableStatus(bookingId, thread % 2 == 0, ownerId);
+                accepted.incrementAndGet();
+            } catch (ValidationException | ConcurrencyFailureException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        report("подтверждение", elapsed, accepted.get(), conflicts.get());
+        assertThat(accepted.get(), equalTo(1));
+        assertThat(bookingRepository.findById(bookingId).map(Booking::getStatus).orElseThrow() != Status.WAITING,
+                equalTo(true));
+    }
+
+    private long saveItem() {
+        ItemDto itemDto = ItemDto.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+        return itemService.save(itemDto, ownerId).getId();
+    }
+
+    private long hammer(Request request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                for (int r = 0; r < REQUESTS_PER_THREAD; r++) {
+                    request.execute(thread, r);
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        executor.shutdown();
+        return elapsed;
+    }
+
+    private void report(String scenario, long elapsedNanos, int accepted, int conflicts) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("Сценарий '{}': {} запросов за {} мс ({} запросов/с), принято {}, конфликтов {}",
+                scenario, THREADS * REQUESTS_PER_THREAD, Math.round(seconds * 1000),
+                Math.round(THREADS * REQUESTS_PER_THREAD / seconds), accepted, conflicts);
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void execute(int thread, int request);
+    }
+}
@@ -7,28 +7,42 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
 import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateResultDto;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.user.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constant.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.util.Constant.USER_ID_HEADER;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,11 +56,14 @@ class BookingControllerTests {
 
     private MockMvc mvc;
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
     private Booking booking;
 
+    private BookingAllFieldsDto bookingDto;
+
     private BookingSavingDto bookingSavingDto;
 
     @BeforeEach
@@ -56,6 +73,7 @@ class BookingControllerTests {
 
         mvc = MockMvcBuilders
                 .standaloneSetup(bookingController)
+                .setControllerAdvice(new ErrorHandler())
                 .build();
 
         User user = User.builder()
@@ -81,6 +99,8 @@ class BookingControllerTests {
                 .end(end)
                 .build();
 
+        bookingDto = BookingMapper.INSTANCE.mapToBookingAllFieldsDto(booking);
+
         bookingSavingDto = BookingSavingDto.builder()
                 .start(start)
                 .end(end)
@@ -111,10 +131,29 @@ class BookingControllerTests {
                 .andExpect(jsonPath("$.id", is(1)));
     }
 
+    @Test
+    void shouldSaveBookingsInBatch() throws Exception {
+        when(mockBookingService.saveAll(any(), anyLong()))
+                .thenReturn(List.of(booking, booking.toBuilder().id(2L).build()));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(objectMapper.writeValueAsString(List.of(bookingSavingDto, bookingSavingDto)))
+                        .header(USER_ID_HEADER, 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[1].id", is(2)))
+                .andExpect(jsonPath("$[1].item.id", is(1)));
+    }
+
     @Test
     void shouldFindAllBookingsByUserId() throws Exception {
         when(mockBookingService.findByUserId(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingDto));
 
         mvc.perform(get("/bookings")
                         .header(USER_ID_HEADER, 1)
@@ -154,6 +193,29 @@ class BookingControllerTests {
                 .andExpect(jsonPath("$.status", is(String.valueOf(booking.getStatus()))));
     }
 
+    @Test
+    void shouldUpdateAvailableStatusesInBulk() throws Exception {
+        when(mockBookingService.updateAvailableStatuses(eq(List.of(1L, 2L)), eq(true), eq(1L)))
+                .thenReturn(List.of(
+                        new BookingStatusUpdateResultDto(1L, StatusUpdateOutcome.UPDATED, Status.APPROVED),
+                        new BookingStatusUpdateResultDto(2L, StatusUpdateOutcome.NOT_FOUND, null)));
+
+        mvc.perform(patch("/bookings/batch")
+                        .param("approved", "true")
+                        .content(objectMapper.writeValueAsString(List.of(1L, 2L)))
+                        .header(USER_ID_HEADER, 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].outcome", is("UPDATED")))
+                .andExpect(jsonPath("$[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$[1].bookingId", is(2)))
+                .andExpect(jsonPath("$[1].outcome", is("NOT_FOUND")));
+    }
+
     @Test
     void shouldFindBookingByUserOwner() throws Exception {
         when(mockBookingService.findAllBookingsByUserId(anyLong(), anyLong()))
@@ -175,7 +237,7 @@ class BookingControllerTests {
     @Test
     void shouldFindOwnerBookings() throws Exception {
         when(mockBookingService.findOwnerBookings(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingDto));
 
         mvc.perform(get("/bookings/owner")
                         .header(USER_ID_HEADER, 1)
@@ -189,4 +251,72 @@ class BookingControllerTests {
                 .andExpect(jsonPath("$[0].end[2]", is(bookingSavingDto.getEnd().getDayOfMonth())))
                 .andExpect(jsonPath("$[0].status", is(String.valueOf(booking.getStatus()))));
     }
+
+    @Test
+    void shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        when(mockBookingService.findByUserId(anyLong(), any(), isNull(), eq(1)))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, 1)
+                        .param("after", "")
+                        .param("size", "1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(NEXT_CURSOR_HEADER, BookingCursor.of(bookingDto).encode()));
+    }
+
+    @Test
+    void shouldNotReturnNextCursorOnLastPage() throws Exception {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 5L);
+        when(mockBookingService.findOwnerBookings(anyLong(), any(), eq(cursor), eq(2)))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, 1)
+                        .param("after", cursor.encode())
+                        .param("size", "2")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldExportBookingsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Booking> consumer = invocation.getArgument(2);
+            consumer.accept(booking);
+            consumer.accept(booking.toBuilder().id(2L).build());
+            return 2L;
+        }).when(mockBookingService).exportByUserId(eq(1L), eq("past"), any());
+
+        String body = mvc.perform(get("/bookings/export")
+                        .param("state", "past")
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(objectMapper.readTree(lines[0]).get("id").asLong(), is(1L));
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong(), is(2L));
+        assertThat(body.endsWith("\n"), is(true));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenExportingBookingsOfUnknownUser() throws Exception {
+        when(mockBookingService.exportByUserId(eq(99L), eq("all"), any()))
+                .thenThrow(new NotFoundException("Пользователь 99 не найден."));
+
+        mvc.perform(get("/bookings/export")
+                        .header(USER_ID_HEADER, 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message", is("Пользователь 99 не найден.")));
+    }
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingCursorTests {
+
+    @Test
+    void shouldDecodeEncodedCursor() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2023, 10, 1, 12, 30, 15, 123), 42L);
+
+        assertThat(BookingCursor.decode(cursor.encode()), equalTo(cursor));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCursorIsMalformed() {
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("not a cursor"));
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("MjAyMw"));
+        assertThrows(ValidationException.class, () -> BookingCursor.decode(
+                new BookingCursor(LocalDateTime.now(), 1L).encode().substring(2)));
+    }
+}
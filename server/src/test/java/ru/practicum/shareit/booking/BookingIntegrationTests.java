@@ -8,7 +8,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateResultDto;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.service.ItemService;
@@ -19,10 +24,17 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static ru.practicum.shareit.booking.enums.Status.APPROVED;
 import static ru.practicum.shareit.booking.enums.Status.WAITING;
 
@@ -98,6 +110,100 @@ class BookingIntegrationTests {
         assertThat(bookingFromDb.getStatus(), equalTo(WAITING));
     }
 
+    @Test
+    void shouldRejectOverlappingBooking() {
+        userService.save(user);
+
+        User secondUser = User.builder()
+                .email("second@email.ru")
+                .name("name")
+                .build();
+
+        userService.save(secondUser);
+        itemService.save(itemDto, 1L);
+
+        LocalDateTime bookingStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.save(1L, bookingStart, bookingStart.plusDays(2), 2L);
+
+        assertThrows(NotAvailableException.class, () ->
+                bookingService.save(1L, bookingStart.plusDays(1), bookingStart.plusDays(3), 2L));
+        assertDoesNotThrow(() ->
+                bookingService.save(1L, bookingStart.minusHours(12), bookingStart, 2L));
+    }
+
+    @Test
+    void shouldIncrementItemVersionOnBooking() {
+        userService.save(user);
+
+        User secondUser = User.builder()
+                .email("second@email.ru")
+                .name("name")
+                .build();
+
+        userService.save(secondUser);
+        itemService.save(itemDto, 1L);
+        entityManager.flush();
+        long version = entityManager.find(Item.class, 1L).getVersion();
+
+        LocalDateTime bookingStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.save(1L, bookingStart, bookingStart.plusDays(1), 2L);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(entityManager.find(Item.class, 1L).getVersion(), equalTo(version + 1));
+    }
+
+    @Test
+    void shouldSaveBookingsInBatch() {
+        userService.save(user);
+
+        User secondUser = User.builder()
+                .email("second@email.ru")
+                .name("name")
+                .build();
+
+        userService.save(secondUser);
+        itemService.save(itemDto, 1L);
+        itemService.save(itemDto, 1L);
+
+        LocalDateTime bookingStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.save(1L, bookingStart, bookingStart.plusDays(1), 2L);
+
+        List<Booking> bookings = bookingService.saveAll(List.of(
+                new BookingSavingDto(1L, bookingStart.plusDays(1), bookingStart.plusDays(2)),
+                new BookingSavingDto(2L, bookingStart, bookingStart.plusDays(1)),
+                new BookingSavingDto(2L, bookingStart.plusDays(1), bookingStart.plusDays(2))), 2L);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(bookings.stream().map(Booking::getId).collect(Collectors.toList()), contains(2L, 3L, 4L));
+        assertThat(bookingService.findByUserId(2L, "future", page).size(), equalTo(4));
+        assertThrows(NotAvailableException.class, () ->
+                bookingService.save(2L, bookingStart.plusHours(12), bookingStart.plusDays(1), 2L));
+    }
+
+    @Test
+    void shouldRejectBatchOverlappingExistingBooking() {
+        userService.save(user);
+
+        User secondUser = User.builder()
+                .email("second@email.ru")
+                .name("name")
+                .build();
+
+        userService.save(secondUser);
+        itemService.save(itemDto, 1L);
+
+        LocalDateTime bookingStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.save(1L, bookingStart, bookingStart.plusDays(2), 2L);
+
+        List<BookingSavingDto> bookingSavingDtos = List.of(
+                new BookingSavingDto(1L, bookingStart.plusDays(2), bookingStart.plusDays(3)),
+                new BookingSavingDto(1L, bookingStart.plusDays(1), bookingStart.plusDays(3)));
+
+        assertThrows(NotAvailableException.class, () -> bookingService.saveAll(bookingSavingDtos, 2L));
+    }
+
     @Test
     void shouldFindBookingsByUserId() {
         userService.save(user);
@@ -111,7 +217,7 @@ class BookingIntegrationTests {
         itemService.save(itemDto, 1L);
         bookingService.save(1L, start, end, 2L);
 
-        Collection<Booking> bookings = bookingService.findByUserId(2L, "all", page);
+        Collection<BookingAllFieldsDto> bookings = bookingService.findByUserId(2L, "all", page);
 
         assertThat(bookings.size(), equalTo(1));
     }
@@ -138,6 +244,36 @@ class BookingIntegrationTests {
         assertThat(bookingFromDb.getStatus(), equalTo(APPROVED));
     }
 
+    @Test
+    void shouldUpdateAvailableStatusesInBulk() {
+        userService.save(user);
+
+        User secondUser = User.builder()
+                .email("second@email.ru")
+                .name("name")
+                .build();
+
+        userService.save(secondUser);
+        itemService.save(itemDto, 1L);
+        itemService.save(itemDto, 2L);
+
+        LocalDateTime bookingStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.save(1L, bookingStart, bookingStart.plusDays(1), 2L);
+        bookingService.save(1L, bookingStart.plusDays(1), bookingStart.plusDays(2), 2L);
+        bookingService.save(2L, bookingStart, bookingStart.plusDays(1), 1L);
+        bookingService.updateAvailableStatus(2L, false, 1L);
+
+        List<BookingStatusUpdateResultDto> results = bookingService.updateAvailableStatuses(
+                List.of(1L, 2L, 3L, 4L), true, 1L);
+
+        assertThat(results.stream().map(BookingStatusUpdateResultDto::getOutcome).collect(Collectors.toList()),
+                contains(StatusUpdateOutcome.UPDATED, StatusUpdateOutcome.NOT_WAITING,
+                        StatusUpdateOutcome.NOT_FOUND, StatusUpdateOutcome.NOT_FOUND));
+        assertThat(bookingService.findAllBookingsByUserId(1L, 1L).getStatus(), equalTo(APPROVED));
+        assertThat(bookingService.findAllBookingsByUserId(3L, 1L).getStatus(), equalTo(WAITING));
+        assertThat(itemService.findById(1L, 1L).getNextBooking().getId(), equalTo(1L));
+    }
+
     @Test
     void shouldFindAllBookingsByUserId() {
         userService.save(user);
@@ -170,8 +306,47 @@ class BookingIntegrationTests {
         itemService.save(itemDto, 1L);
         bookingService.save(1L, start, end, 2L);
 
-        Collection<Booking> bookings = bookingService.findOwnerBookings(1L, "waiting", page);
+        Collection<BookingAllFieldsDto> bookings = bookingService.findOwnerBookings(1L, "waiting", page);
 
         assertThat(bookings.size(), equalTo(1));
     }
+
+    @Test
+    void shouldPageThroughBookingsWithCursor() {
+        userService.save(user);
+
+        User secondUser = User.builder()
+                .email("second@email.ru")
+                .name("name")
+                .build();
+
+        userService.save(secondUser);
+        itemService.save(itemDto, 1L);
+        itemService.save(itemDto, 1L);
+
+        LocalDateTime bookingStart = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int day = 0; day < 3; day++) {
+            bookingService.save(1L, bookingStart.plusDays(day), bookingStart.plusDays(day).plusHours(1), 2L);
+            bookingService.save(2L, bookingStart.plusDays(day), bookingStart.plusDays(day).plusHours(1), 2L);
+        }
+
+        List<Long> bookerPages = new ArrayList<>();
+        List<Long> ownerPages = new ArrayList<>();
+        BookingCursor bookerCursor = null;
+        BookingCursor ownerCursor = null;
+
+        for (int i = 0; i < 3; i++) {
+            List<BookingAllFieldsDto> bookerPage = bookingService.findByUserId(2L, "future", bookerCursor, 2);
+            List<BookingAllFieldsDto> ownerPage = bookingService.findOwnerBookings(1L, "all", ownerCursor, 2);
+
+            bookerPage.forEach(booking -> bookerPages.add(booking.getId()));
+            ownerPage.forEach(booking -> ownerPages.add(booking.getId()));
+            bookerCursor = BookingCursor.of(bookerPage.get(bookerPage.size() - 1));
+            ownerCursor = BookingCursor.of(ownerPage.get(ownerPage.size() - 1));
+        }
+
+        assertThat(bookerPages, contains(6L, 5L, 4L, 3L, 2L, 1L));
+        assertThat(ownerPages, contains(6L, 5L, 4L, 3L, 2L, 1L));
+        assertThat(bookingService.findByUserId(2L, "future", bookerCursor, 2).size(), equalTo(0));
+    }
 }
@@ -0,0 +1,212 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.listing.BookingRole;
+import ru.practicum.shareit.item.dto.GetBookingItemDto;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.GetBookingUserDto;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static ru.practicum.shareit.util.Constant.SORT_BY_START_DATE_AND_ID_DESC;
+import static ru.practicum.shareit.util.Constant.SORT_BY_START_DATE_DESC;
+
+@DataJpaTest
+class BookingRepositoryTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final Pageable page = PageRequest.of(0, 10, SORT_BY_START_DATE_AND_ID_DESC);
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private User owner;
+    private User booker;
+    private Booking past;
+    private Booking current;
+    private Booking future;
+    private Booking rejected;
+    private Booking strangerBooking;
+
+    @BeforeEach
+    void init() {
+        owner = entityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = entityManager.persist(User.builder().name("booker").email("booker@mail.com").build());
+        User stranger = entityManager.persist(User.builder().name("stranger").email("stranger@mail.com").build());
+
+        Item item = entityManager.persist(Item.builder()
+                .name("pen")
+                .description("black pen")
+                .available(true)
+                .owner(owner)
+                .build());
+        Item strangerItem = entityManager.persist(Item.builder()
+                .name("pencil")
+                .description("red pencil")
+                .available(true)
+                .owner(stranger)
+                .build());
+
+        past = persist(item, booker, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        current = persist(item, booker, now.minusDays(1), now.plusDays(1), Status.APPROVED);
+        future = persist(item, booker, now.plusDays(2), now.plusDays(3), Status.WAITING);
+        rejected = persist(item, booker, now.plusDays(4), now.plusDays(5), Status.REJECTED);
+        strangerBooking = persist(strangerItem, owner, now.plusDays(2), now.plusDays(3), Status.WAITING);
+    }
+
+    @Test
+    void shouldFindBookingsOfBookerByState() {
+        assertThat(find(BookingRole.BOOKER, booker, State.ALL), contains(rejected.getId(), future.getId(),
+                current.getId(), past.getId()));
+        assertThat(find(BookingRole.BOOKER, booker, State.CURRENT), contains(current.getId()));
+        assertThat(find(BookingRole.BOOKER, booker, State.PAST), contains(past.getId()));
+        assertThat(find(BookingRole.BOOKER, booker, State.FUTURE), contains(rejected.getId(), future.getId()));
+        assertThat(find(BookingRole.BOOKER, booker, State.WAITING), contains(future.getId()));
+        assertThat(find(BookingRole.BOOKER, booker, State.REJECTED), contains(rejected.getId()));
+    }
+
+    @Test
+    void shouldFindBookingsOfOwnedItemsByState() {
+        assertThat(find(BookingRole.OWNER, owner, State.ALL), contains(rejected.getId(), future.getId(),
+                current.getId(), past.getId()));
+        assertThat(find(BookingRole.OWNER, owner, State.CURRENT), contains(current.getId()));
+        assertThat(find(BookingRole.OWNER, owner, State.WAITING), contains(future.getId()));
+        assertThat(find(BookingRole.OWNER, booker, State.ALL), empty());
+    }
+
+    @Test
+    void shouldFindBookingsAfterCursor() {
+        List<BookingAllFieldsDto> bookings = bookingRepository.findBookings(BookingRole.OWNER, owner.getId(), State.ALL, now,
+                new BookingCursor(future.getStart(), future.getId()), page);
+
+        assertThat(ids(bookings), contains(current.getId(), past.getId()));
+    }
+
+    @Test
+    void shouldFindBookingsWithOffset() {
+        List<BookingAllFieldsDto> bookings = bookingRepository.findBookings(BookingRole.BOOKER, booker.getId(), State.ALL, now,
+                null, new OffsetBasedPageRequest(1, 2, SORT_BY_START_DATE_DESC));
+
+        assertThat(ids(bookings), contains(future.getId(), current.getId()));
+    }
+
+    @Test
+    void shouldVisitBookingsInBatchesWithoutKeepingThemManaged() {
+        List<Long> visited = new ArrayList<>();
+        List<Boolean> managed = new ArrayList<>();
+
+        long count = bookingRepository.forEachBooking(BookingRole.BOOKER, booker.getId(), State.ALL, now, 2,
+                booking -> {
+                    visited.add(booking.getId());
+                    managed.add(entityManager.getEntityManager().contains(booking));
+                });
+
+        assertThat(count, equalTo(4L));
+        assertThat(visited, contains(rejected.getId(), future.getId(), current.getId(), past.getId()));
+        assertThat(managed, contains(true, true, true, true));
+        assertThat(entityManager.getEntityManager().contains(past), equalTo(false));
+    }
+
+    @Test
+    void shouldFindLastAndNextApprovedBookingOfEachItem() {
+        Item item = past.getItem();
+        Item secondItem = entityManager.persist(Item.builder()
+                .name("brush")
+                .description("paint brush")
+                .available(true)
+                .owner(owner)
+                .build());
+        Booking next = persist(item, booker, now.plusDays(6), now.plusDays(7), Status.APPROVED);
+        persist(item, booker, now.plusDays(8), now.plusDays(9), Status.APPROVED);
+        Booking secondLast = persist(secondItem, booker, now.minusDays(5), now.minusDays(4), Status.APPROVED);
+        persist(secondItem, booker, now.minusDays(7), now.minusDays(6), Status.APPROVED);
+        persist(secondItem, booker, now.plusDays(1), now.plusDays(2), Status.WAITING);
+        entityManager.flush();
+
+        List<Booking> bookings = bookingRepository.findLastAndNextBookings(List.of(item.getId(), secondItem.getId()),
+                Status.APPROVED.name(), now, now);
+
+        assertThat(bookings.stream().map(Booking::getId).collect(Collectors.toList()),
+                containsInAnyOrder(current.getId(), next.getId(), secondLast.getId()));
+    }
+
+    @Test
+    void shouldProjectBookingsWithoutLoadingEntities() {
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingAllFieldsDto> bookings = bookingRepository.findBookings(BookingRole.OWNER, owner.getId(),
+                State.WAITING, now, null, page);
+
+        assertThat(bookings, contains(BookingAllFieldsDto.builder()
+                .id(future.getId())
+                .start(future.getStart())
+                .end(future.getEnd())
+                .status(Status.WAITING)
+                .item(new GetBookingItemDto(future.getItem().getId(), "pen"))
+                .booker(new GetBookingUserDto(booker.getId()))
+                .build()));
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount(),
+                equalTo(0));
+    }
+
+    @Test
+    void shouldUpdateStatusOfWaitingBookingsOnly() {
+        List<Long> ids = List.of(future.getId(), rejected.getId(), strangerBooking.getId());
+
+        List<BookingStatusView> owned = bookingRepository.findStatusViewsByIdInAndOwnerId(ids, owner.getId());
+        assertThat(owned.stream().map(BookingStatusView::getId).collect(Collectors.toList()),
+                containsInAnyOrder(future.getId(), rejected.getId()));
+        assertThat(bookingRepository.findItemIdsByIdIn(ids).size(), equalTo(2));
+
+        assertThat(bookingRepository.updateStatusByIdIn(ids, Status.WAITING, Status.APPROVED), equalTo(2));
+
+        Booking updated = bookingRepository.findById(future.getId()).orElseThrow();
+        assertThat(updated.getStatus(), equalTo(Status.APPROVED));
+        assertThat(updated.getVersion(), equalTo(1L));
+        assertThat(bookingRepository.findById(rejected.getId()).orElseThrow().getStatus(), equalTo(Status.REJECTED));
+    }
+
+    private List<Long> find(BookingRole role, User user, State state) {
+        return ids(bookingRepository.findBookings(role, user.getId(), state, now, null, page));
+    }
+
+    private static List<Long> ids(List<BookingAllFieldsDto> bookings) {
+        return bookings.stream()
+                .map(BookingAllFieldsDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Booking persist(Item item, User booker, LocalDateTime start, LocalDateTime end, Status status) {
+        return entityManager.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+}
@@ -7,18 +7,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateResultDto;
+import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
+import ru.practicum.shareit.booking.frontier.BookingFrontierTracker;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.listing.BookingRole;
+import ru.practicum.shareit.booking.lock.ItemLockService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentEligibilityCache;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.existence.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -26,6 +42,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.booking.enums.Status.APPROVED;
 import static ru.practicum.shareit.booking.enums.Status.REJECTED;
+import static ru.practicum.shareit.util.Constant.SORT_BY_START_DATE_AND_ID_DESC;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceImplTest {
@@ -41,6 +58,21 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository mockUserRepository;
 
+    @Mock
+    private BookingIntervalIndex mockBookingIntervalIndex;
+
+    @Mock
+    private ItemLockService mockItemLockService;
+
+    @Mock
+    private BookingFrontierTracker mockBookingFrontierTracker;
+
+    @Mock
+    private CommentEligibilityCache mockCommentEligibilityCache;
+
+    @Mock
+    private UserExistenceService mockUserExistenceService;
+
     private Item item;
     private User user;
     private Booking booking;
@@ -83,28 +115,28 @@ class BookingServiceImplTest {
 
     @Test
     void shouldThrowExceptionWhenUserNotFoundBookingSave() {
-        when(mockItemRepository.findById(anyLong()))
+        when(mockItemRepository.lockForBooking(anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.save(1L, start, end, 1L));
-        verify(mockItemRepository, times(1)).findById(anyLong());
+        verify(mockItemRepository, times(1)).lockForBooking(anyLong());
     }
 
     @Test
     void shouldThrowExceptionIfOwnerIdEqualsBookerIdInSave() {
-        when(mockItemRepository.findById(anyLong()))
+        when(mockItemRepository.lockForBooking(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
         long itemId = item.getId();
         long userId = user.getId();
         assertThrows(NotFoundException.class, () -> bookingService.save(itemId, start, end, userId));
-        verify(mockItemRepository, times(1)).findById(anyLong());
+        verify(mockItemRepository, times(1)).lockForBooking(anyLong());
     }
 
     @Test
     void shouldThrowExceptionWhenItemNotAvailableInSave() {
-        when(mockItemRepository.findById(anyLong()))
+        when(mockItemRepository.lockForBooking(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
 
@@ -112,12 +144,12 @@ class BookingServiceImplTest {
         long itemId = item.getId();
         long userId = 99L;
         assertThrows(ValidationException.class, () -> bookingService.save(itemId, start, end, userId));
-        verify(mockItemRepository, times(1)).findById(anyLong());
+        verify(mockItemRepository, times(1)).lockForBooking(anyLong());
     }
 
     @Test
     void shouldThrowExceptionWhenBookingTimeNotValidInSave() {
-        when(mockItemRepository.findById(anyLong()))
+        when(mockItemRepository.lockForBooking(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
         long itemId = item.getId();
@@ -132,12 +164,12 @@ class BookingServiceImplTest {
                 bookingService.save(itemId, max, now, userId));
         assertThrows(NotFoundException.class, () ->
                 bookingService.save(itemId, max, min, userId));
-        verify(mockItemRepository, times(4)).findById(anyLong());
+        verify(mockItemRepository, times(4)).lockForBooking(anyLong());
     }
 
     @Test
     void shouldThrowExceptionWhenBookerNotFoundInSave() {
-        when(mockItemRepository.findById(anyLong()))
+        when(mockItemRepository.lockForBooking(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
         when(mockUserRepository.findById(anyLong()))
@@ -150,13 +182,13 @@ class BookingServiceImplTest {
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.save(itemId, now, max, userId));
-        verify(mockItemRepository, times(1)).findById(anyLong());
+        verify(mockItemRepository, times(1)).lockForBooking(anyLong());
         verify(mockUserRepository, times(1)).findById(anyLong());
     }
 
     @Test
     void shouldSaveBooking() {
-        when(mockItemRepository.findById(anyLong()))
+        when(mockItemRepository.lockForBooking(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
         when(mockUserRepository.findById(anyLong()))
@@ -169,19 +201,201 @@ class BookingServiceImplTest {
         long userId = 99L;
 
         assertThat(booking, equalTo(bookingService.save(itemId, start, LocalDateTime.MAX, userId)));
-        verify(mockItemRepository, times(1)).findById(anyLong());
+        verify(mockItemRepository, times(1)).lockForBooking(anyLong());
         verify(mockUserRepository, times(1)).findById(anyLong());
         verify(mockBookingRepository, times(1)).save(any());
+        verify(mockItemLockService, times(1)).lockUntilCompletion(itemId);
+        verify(mockBookingIntervalIndex, times(1)).reserve(booking);
     }
 
     @Test
-    void shouldThrowExceptionWhenUserNotFoundInFindUserById() {
+    void shouldThrowExceptionWhenBookingOverlapsInSave() {
+        when(mockItemRepository.lockForBooking(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+
         when(mockUserRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+                .thenReturn(Optional.ofNullable(user));
+
+        when(mockBookingRepository.save(any()))
+                .thenReturn(booking);
+
+        doThrow(new NotAvailableException("overlap"))
+                .when(mockBookingIntervalIndex).reserve(booking);
+
+        long itemId = item.getId();
+        long userId = 99L;
+
+        assertThrows(NotAvailableException.class, () ->
+                bookingService.save(itemId, start, LocalDateTime.MAX, userId));
+        verify(mockBookingIntervalIndex, times(1)).reserve(booking);
+    }
+
+    @Test
+    void shouldSaveBookingsInBatch() {
+        Item otherItem = item.toBuilder().id(2L).build();
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+        List<BookingSavingDto> bookingSavingDtos = List.of(
+                new BookingSavingDto(1L, future, future.plusHours(1)),
+                new BookingSavingDto(2L, future, future.plusHours(1)),
+                new BookingSavingDto(1L, future.plusHours(1), future.plusHours(2)));
+
+        when(mockUserRepository.findById(99L))
+                .thenReturn(Optional.of(User.builder().id(99L).build()));
+        when(mockItemRepository.lockAllForBooking(anyCollection()))
+                .thenReturn(List.of(item, otherItem));
+        when(mockBookingRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Booking> bookings = bookingService.saveAll(bookingSavingDtos, 99L);
+
+        assertThat(bookings.size(), equalTo(3));
+        assertThat(bookings.get(1).getItem(), equalTo(otherItem));
+        assertThat(bookings.get(2).getStatus(), equalTo(Status.WAITING));
+        verify(mockItemLockService, times(1)).lockAllUntilCompletion(Set.of(1L, 2L));
+        verify(mockItemRepository, times(1)).lockAllForBooking(Set.of(1L, 2L));
+        verify(mockItemRepository, never()).lockForBooking(anyLong());
+        verify(mockBookingIntervalIndex, times(1)).reserveAll(bookings);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenItemNotFoundInBatch() {
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+        List<BookingSavingDto> bookingSavingDtos = List.of(
+                new BookingSavingDto(1L, future, future.plusHours(1)),
+                new BookingSavingDto(2L, future, future.plusHours(1)));
+
+        when(mockUserRepository.findById(99L))
+                .thenReturn(Optional.of(User.builder().id(99L).build()));
+        when(mockItemRepository.lockAllForBooking(anyCollection()))
+                .thenReturn(List.of(item));
+
+        assertThrows(NotFoundException.class, () -> bookingService.saveAll(bookingSavingDtos, 99L));
+        verify(mockBookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenOwnerBooksOwnItemInBatch() {
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+        List<BookingSavingDto> bookingSavingDtos = List.of(new BookingSavingDto(1L, future, future.plusHours(1)));
+
+        when(mockUserRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+        when(mockItemRepository.lockAllForBooking(anyCollection()))
+                .thenReturn(List.of(item));
+
+        assertThrows(NotFoundException.class, () -> bookingService.saveAll(bookingSavingDtos, 1L));
+        verify(mockBookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBatchIsInvalid() {
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+        List<BookingSavingDto> reversed = List.of(new BookingSavingDto(1L, future, future.minusHours(1)));
+        List<BookingSavingDto> withoutItem = List.of(new BookingSavingDto(null, future, future.plusHours(1)));
+
+        assertThrows(ValidationException.class, () -> bookingService.saveAll(Collections.emptyList(), 99L));
+        assertThrows(ValidationException.class, () -> bookingService.saveAll(reversed, 99L));
+        assertThrows(ValidationException.class, () -> bookingService.saveAll(withoutItem, 99L));
+        verify(mockItemLockService, never()).lockAllUntilCompletion(anyCollection());
+    }
+
+    @Test
+    void shouldApproveWaitingBookingsInBulk() {
+        when(mockBookingRepository.findItemIdsByIdIn(anyCollection()))
+                .thenReturn(List.of(1L));
+        when(mockBookingRepository.findStatusViewsByIdInAndOwnerId(anyCollection(), eq(1L)))
+                .thenReturn(List.of(statusView(1L, Status.WAITING), statusView(2L, Status.APPROVED)));
+        when(mockBookingRepository.updateStatusByIdIn(List.of(1L), Status.WAITING, APPROVED))
+                .thenReturn(1);
+
+        List<BookingStatusUpdateResultDto> results = bookingService.updateAvailableStatuses(List.of(1L, 2L, 3L),
+                true, 1L);
+
+        assertThat(results, equalTo(List.of(
+                new BookingStatusUpdateResultDto(1L, StatusUpdateOutcome.UPDATED, APPROVED),
+                new BookingStatusUpdateResultDto(2L, StatusUpdateOutcome.NOT_WAITING, APPROVED),
+                new BookingStatusUpdateResultDto(3L, StatusUpdateOutcome.NOT_FOUND, null))));
+        verify(mockItemLockService, times(1)).lockAllUntilCompletion(List.of(1L));
+        verify(mockBookingRepository, times(1)).updateStatusByIdIn(List.of(1L), Status.WAITING, APPROVED);
+        verify(mockBookingFrontierTracker, times(1)).refreshAll(eq(Set.of(1L)), any());
+        verify(mockBookingRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRejectWaitingBookingsInBulk() {
+        when(mockBookingRepository.findItemIdsByIdIn(anyCollection()))
+                .thenReturn(List.of(1L));
+        when(mockBookingRepository.findStatusViewsByIdInAndOwnerId(anyCollection(), eq(1L)))
+                .thenReturn(List.of(statusView(1L, Status.WAITING)));
+        when(mockBookingRepository.updateStatusByIdIn(List.of(1L), Status.WAITING, REJECTED))
+                .thenReturn(1);
+
+        List<BookingStatusUpdateResultDto> results = bookingService.updateAvailableStatuses(List.of(1L), false, 1L);
+
+        assertThat(results.get(0).getOutcome(), equalTo(StatusUpdateOutcome.UPDATED));
+        assertThat(results.get(0).getStatus(), equalTo(REJECTED));
+        verify(mockBookingRepository, times(1)).updateStatusByIdIn(List.of(1L), Status.WAITING, REJECTED);
+        verify(mockBookingIntervalIndex, times(1)).release(1L, 1L);
+        verify(mockCommentEligibilityCache, times(1)).evict(2L, 1L);
+        verify(mockBookingFrontierTracker, never()).refreshAll(anyCollection(), any());
+    }
+
+    @Test
+    void shouldReportBookingsChangedConcurrentlyInBulk() {
+        when(mockBookingRepository.findItemIdsByIdIn(anyCollection()))
+                .thenReturn(List.of(1L));
+        when(mockBookingRepository.findStatusViewsByIdInAndOwnerId(anyCollection(), eq(1L)))
+                .thenReturn(List.of(statusView(1L, Status.WAITING), statusView(2L, Status.WAITING),
+                                statusView(3L, Status.WAITING)),
+                        List.of(statusView(1L, REJECTED), statusView(2L, REJECTED)));
+        when(mockBookingRepository.updateStatusByIdIn(List.of(1L, 2L, 3L), Status.WAITING, REJECTED))
+                .thenReturn(1);
+
+        List<BookingStatusUpdateResultDto> results = bookingService.updateAvailableStatuses(List.of(1L, 2L, 3L),
+                false, 1L);
+
+        assertThat(results.stream().map(BookingStatusUpdateResultDto::getOutcome).collect(Collectors.toList()),
+                equalTo(List.of(StatusUpdateOutcome.UPDATED, StatusUpdateOutcome.UPDATED,
+                        StatusUpdateOutcome.NOT_FOUND)));
+        verify(mockBookingRepository, times(1)).findStatusViewsByIdInAndOwnerId(List.of(1L, 2L, 3L), 1L);
+        verify(mockBookingIntervalIndex, never()).release(1L, 3L);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBulkStatusUpdateIsEmpty() {
+        List<Long> bookingIds = Collections.emptyList();
+
+        assertThrows(ValidationException.class, () -> bookingService.updateAvailableStatuses(bookingIds, true, 1L));
+        verify(mockBookingRepository, never()).updateStatusByIdIn(anyCollection(), any(), any());
+    }
+
+    @Test
+    void shouldNotUpdateAnythingWhenNoBookingIsWaiting() {
+        when(mockBookingRepository.findStatusViewsByIdInAndOwnerId(anyCollection(), eq(1L)))
+                .thenReturn(List.of(statusView(1L, Status.REJECTED)));
+
+        List<BookingStatusUpdateResultDto> results = bookingService.updateAvailableStatuses(List.of(1L), true, 1L);
+
+        assertThat(results.get(0).getOutcome(), equalTo(StatusUpdateOutcome.NOT_WAITING));
+        verify(mockBookingRepository, never()).updateStatusByIdIn(anyCollection(), any(), any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUserNotFoundInBulkStatusUpdate() {
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExistsInDatabase(anyLong());
+
+        List<Long> bookingIds = List.of(1L);
+        assertThrows(NotFoundException.class, () -> bookingService.updateAvailableStatuses(bookingIds, true, 1L));
+        verify(mockBookingRepository, never()).updateStatusByIdIn(anyCollection(), any(), any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUserNotFoundInFindUserById() {
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExists(anyLong());
 
         long userId = 99L;
         assertThrows(NotFoundException.class, () -> bookingService.findByUserId(userId, "ALL", page));
-        verify(mockUserRepository, times(1)).findById(anyLong());
+        verify(mockUserExistenceService, times(1)).requireExists(anyLong());
     }
 
     @Test
@@ -199,12 +413,12 @@ class BookingServiceImplTest {
                 .status(Status.WAITING)
                 .build();
 
+        when(mockBookingRepository.findItemIdById(bookingId))
+                .thenReturn(Optional.of(item.getId()));
+
         when(mockBookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(existingBooking));
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
         when(mockBookingRepository.save(any(Booking.class)))
                 .thenReturn(booking);
 
@@ -219,9 +433,11 @@ class BookingServiceImplTest {
         assertThat(result, equalTo(booking));
         assertThat(result.getStatus(), equalTo(Status.APPROVED));
 
+        verify(mockItemLockService, times(1)).lockUntilCompletion(item.getId());
         verify(mockBookingRepository, times(1)).findById(bookingId);
-        verify(mockUserRepository, times(1)).findById(userId);
+        verify(mockUserExistenceService, times(1)).requireExistsInDatabase(userId);
         verify(mockBookingRepository, times(1)).save(any(Booking.class));
+        verify(mockBookingFrontierTracker, times(1)).onApproved(eq(booking), any(LocalDateTime.class));
     }
 
     @Test
@@ -239,12 +455,12 @@ class BookingServiceImplTest {
                 .status(Status.WAITING)
                 .build();
 
+        when(mockBookingRepository.findItemIdById(bookingId))
+                .thenReturn(Optional.of(item.getId()));
+
         when(mockBookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(existingBooking));
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
         booking.setStatus(REJECTED);
         when(mockBookingRepository.save(existingBooking))
                 .thenReturn(booking);
@@ -261,8 +477,11 @@ class BookingServiceImplTest {
         assertThat(result.getStatus(), equalTo(Status.REJECTED));
 
         verify(mockBookingRepository, times(1)).findById(bookingId);
-        verify(mockUserRepository, times(1)).findById(userId);
+        verify(mockUserExistenceService, times(1)).requireExistsInDatabase(userId);
         verify(mockBookingRepository, times(1)).save(existingBooking);
+        verify(mockBookingIntervalIndex, times(1)).release(existingBooking);
+        verify(mockBookingFrontierTracker, never()).onApproved(any(), any());
+        verify(mockCommentEligibilityCache, times(1)).evict(user.getId(), item.getId());
     }
 
     @Test
@@ -270,13 +489,15 @@ class BookingServiceImplTest {
         long bookingId = 1L;
         long userId = 99L;
 
-        when(mockBookingRepository.findById(bookingId))
+        when(mockBookingRepository.findItemIdById(bookingId))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.updateAvailableStatus(bookingId, true, userId));
 
-        verify(mockBookingRepository, times(1)).findById(bookingId);
+        verify(mockBookingRepository, times(1)).findItemIdById(bookingId);
+        verify(mockItemLockService, never()).lockUntilCompletion(anyLong());
+        verify(mockBookingRepository, never()).findById(bookingId);
         verify(mockUserRepository, never()).findById(anyLong());
         verify(mockBookingRepository, never()).save(any(Booking.class));
     }
@@ -295,17 +516,19 @@ class BookingServiceImplTest {
                 .status(Status.WAITING)
                 .build();
 
+        when(mockBookingRepository.findItemIdById(bookingId))
+                .thenReturn(Optional.of(item.getId()));
+
         when(mockBookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(existingBooking));
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExistsInDatabase(userId);
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.updateAvailableStatus(bookingId, true, userId));
 
         verify(mockBookingRepository, times(1)).findById(bookingId);
-        verify(mockUserRepository, times(1)).findById(userId);
+        verify(mockUserExistenceService, times(1)).requireExistsInDatabase(userId);
         verify(mockBookingRepository, never()).save(any(Booking.class));
     }
 
@@ -323,17 +546,17 @@ class BookingServiceImplTest {
                 .status(Status.APPROVED)
                 .build();
 
+        when(mockBookingRepository.findItemIdById(bookingId))
+                .thenReturn(Optional.of(item.getId()));
+
         when(mockBookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(existingBooking));
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
         assertThrows(ValidationException.class, () ->
                 bookingService.updateAvailableStatus(bookingId, true, userId));
 
         verify(mockBookingRepository, times(1)).findById(bookingId);
-        verify(mockUserRepository, times(1)).findById(userId);
+        verify(mockUserExistenceService, times(1)).requireExistsInDatabase(userId);
         verify(mockBookingRepository, never()).save(any(Booking.class));
     }
 
@@ -341,133 +564,115 @@ class BookingServiceImplTest {
     void shouldFindAllBookingsByUserIdWithAllState() {
         long userId = 1L;
         String stateString = "ALL";
-        List<Booking> expectedBookings = Arrays.asList(
-                Booking.builder().id(1L).build(),
-                Booking.builder().id(2L).build()
+        List<BookingAllFieldsDto> expectedBookings = Arrays.asList(
+                BookingAllFieldsDto.builder().id(1L).build(),
+                BookingAllFieldsDto.builder().id(2L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByBooker(user, page))
+        when(mockBookingRepository.findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.ALL), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findByUserId(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findByUserId(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByBooker(user, page);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.ALL), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByUserIdWithCurrentState() {
         long userId = 1L;
         String stateString = "CURRENT";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByBookerCurrent(any(), any(), any()))
+        when(mockBookingRepository.findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.CURRENT), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findByUserId(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findByUserId(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByBookerCurrent(any(), any(), any());
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.CURRENT), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByUserIdWithPastState() {
         long userId = 1L;
         String stateString = "PAST";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByBookerPast(any(), any(), any()))
+        when(mockBookingRepository.findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.PAST), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findByUserId(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findByUserId(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByBookerPast(any(), any(), any());
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.PAST), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByUserIdWithFutureState() {
         long userId = 1L;
         String stateString = "FUTURE";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByBookerFuture(any(), any(), any()))
+        when(mockBookingRepository.findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.FUTURE), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findByUserId(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findByUserId(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByBookerFuture(any(), any(), any());
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.FUTURE), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByUserIdWithWaitingState() {
         long userId = 1L;
         String stateString = "WAITING";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByBookerAndStatus(user, Status.WAITING, page))
+        when(mockBookingRepository.findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.WAITING), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findByUserId(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findByUserId(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByBookerAndStatus(user, Status.WAITING, page);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.WAITING), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByUserIdWithRejectedState() {
         long userId = 1L;
         String stateString = "REJECTED";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByBookerAndStatus(user, Status.REJECTED, page))
+        when(mockBookingRepository.findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.REJECTED), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findByUserId(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findByUserId(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByBookerAndStatus(user, Status.REJECTED, page);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.REJECTED), any(), isNull(), eq(page));
     }
 
     @Test
@@ -475,147 +680,128 @@ class BookingServiceImplTest {
         long userId = 99L;
         String stateString = "ALL";
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExists(userId);
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.findByUserId(userId, stateString, page));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, never()).findByBooker(any(User.class), any(Pageable.class));
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, never()).findBookings(any(), anyLong(), any(), any(), any(), any());
     }
 
     @Test
     void shouldFindAllBookingsByOwnerWithAllState() {
         long userId = 1L;
         String stateString = "ALL";
-        List<Booking> expectedBookings = Arrays.asList(
-                Booking.builder().id(1L).build(),
-                Booking.builder().id(2L).build()
+        List<BookingAllFieldsDto> expectedBookings = Arrays.asList(
+                BookingAllFieldsDto.builder().id(1L).build(),
+                BookingAllFieldsDto.builder().id(2L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByItemOwner(user, page))
+        when(mockBookingRepository.findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.ALL), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findOwnerBookings(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findOwnerBookings(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByItemOwner(user, page);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.ALL), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByOwnerWithCurrentState() {
         long userId = 1L;
         String stateString = "CURRENT";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByItemOwnerCurrent(any(), any(), any()))
+        when(mockBookingRepository.findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.CURRENT), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findOwnerBookings(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findOwnerBookings(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByItemOwnerCurrent(any(), any(), any());
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.CURRENT), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByOwnerWithPastState() {
         long userId = 1L;
         String stateString = "PAST";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByItemOwnerPast(any(), any(), any()))
+        when(mockBookingRepository.findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.PAST), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findOwnerBookings(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findOwnerBookings(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByItemOwnerPast(any(), any(), any());
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.PAST), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByOwnerWithFutureState() {
         long userId = 1L;
         String stateString = "FUTURE";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByItemOwnerFuture(any(), any(), any()))
+        when(mockBookingRepository.findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.FUTURE), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findOwnerBookings(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findOwnerBookings(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByItemOwnerFuture(any(), any(), any());
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.FUTURE), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByOwnerWithWaitingState() {
         long userId = 1L;
         String stateString = "WAITING";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByItemOwnerAndStatus(user, Status.WAITING, page))
+        when(mockBookingRepository.findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.WAITING), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findOwnerBookings(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findOwnerBookings(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByItemOwnerAndStatus(user, Status.WAITING, page);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.WAITING), any(), isNull(), eq(page));
     }
 
     @Test
     void shouldFindAllBookingsByOwnerWithRejectedState() {
         long userId = 1L;
         String stateString = "REJECTED";
-        List<Booking> expectedBookings = Collections.singletonList(
-                Booking.builder().id(1L).build()
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
         );
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
-        when(mockBookingRepository.findByItemOwnerAndStatus(user, Status.REJECTED, page))
+        when(mockBookingRepository.findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.REJECTED), any(), isNull(), eq(page)))
                 .thenReturn(expectedBookings);
 
-        Collection<Booking> result = bookingService.findOwnerBookings(userId, stateString, page);
+        Collection<BookingAllFieldsDto> result = bookingService.findOwnerBookings(userId, stateString, page);
 
         assertThat(result, equalTo(expectedBookings));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, times(1)).findByItemOwnerAndStatus(user, Status.REJECTED, page);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, times(1)).findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.REJECTED), any(), isNull(), eq(page));
     }
 
     @Test
@@ -623,14 +809,13 @@ class BookingServiceImplTest {
         long userId = 99L;
         String stateString = "ALL";
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExists(userId);
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.findOwnerBookings(userId, stateString, page));
 
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockBookingRepository, never()).findByItemOwner(any(User.class), any(Pageable.class));
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+        verify(mockBookingRepository, never()).findBookings(any(), anyLong(), any(), any(), any(), any());
     }
 
     @Test
@@ -649,14 +834,11 @@ class BookingServiceImplTest {
         when(mockBookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
         Booking result = bookingService.findAllBookingsByUserId(bookingId, userId);
         assertThat(result, equalTo(booking));
 
         verify(mockBookingRepository, times(1)).findById(bookingId);
-        verify(mockUserRepository, times(1)).findById(userId);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
     }
 
     @Test
@@ -675,14 +857,11 @@ class BookingServiceImplTest {
         when(mockBookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
         Booking result = bookingService.findAllBookingsByUserId(bookingId, userId);
         assertThat(result, equalTo(booking));
 
         verify(mockBookingRepository, times(1)).findById(bookingId);
-        verify(mockUserRepository, times(1)).findById(userId);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
     }
 
 
@@ -715,24 +894,23 @@ class BookingServiceImplTest {
         when(mockBookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExists(userId);
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.findAllBookingsByUserId(bookingId, userId));
 
         verify(mockBookingRepository, times(1)).findById(bookingId);
-        verify(mockUserRepository, times(1)).findById(userId);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
     }
 
     @Test
     void shouldThrowNotFoundExceptionWhenNoAvailableBookingsForUser() {
+        when(mockBookingRepository.findItemIdById(anyLong()))
+                .thenReturn(Optional.of(item.getId()));
+
         when(mockBookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
-        when(mockUserRepository.findById(any()))
-                .thenReturn(Optional.ofNullable(user));
-
         long bookingId = booking.getId();
 
         assertThrows(NotFoundException.class, () -> bookingService.updateAvailableStatus(
@@ -741,7 +919,7 @@ class BookingServiceImplTest {
 
     @Test
     void shouldThrowValidationExceptionWhenDateIsBefore() {
-        when(mockItemRepository.findById(anyLong()))
+        when(mockItemRepository.lockForBooking(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
         long itemId = item.getId();
@@ -767,14 +945,100 @@ class BookingServiceImplTest {
         when(mockBookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
 
-        when(mockUserRepository.findById(userId))
-                .thenReturn(Optional.of(user));
-
         assertThrows(NotFoundException.class,
                 () -> bookingService.findAllBookingsByUserId(bookingId, userId));
 
         verify(mockBookingRepository, times(1)).findById(bookingId);
-        verify(mockUserRepository, times(1)).findById(userId);
+        verify(mockUserExistenceService, times(1)).requireExists(userId);
+    }
+
+    @Test
+    void shouldFindBookingsByUserIdAfterCursor() {
+        long userId = 1L;
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(9L).build()
+        );
+
+        when(mockBookingRepository.findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.ALL), any(), eq(cursor), any()))
+                .thenReturn(expectedBookings);
+
+        List<BookingAllFieldsDto> result = bookingService.findByUserId(userId, "ALL", cursor, 5);
+
+        assertThat(result, equalTo(expectedBookings));
+
+        verify(mockBookingRepository, times(1))
+                .findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.ALL), any(), eq(cursor), any());
     }
-}
 
+    @Test
+    void shouldFindFirstPageOfBookingsByUserIdWithoutCursor() {
+        long userId = 1L;
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(1L).build()
+        );
+
+        when(mockBookingRepository.findBookings(eq(BookingRole.BOOKER), eq(userId), eq(State.WAITING), any(), isNull(), eq(PageRequest.of(0, 5, SORT_BY_START_DATE_AND_ID_DESC))))
+                .thenReturn(expectedBookings);
+
+        List<BookingAllFieldsDto> result = bookingService.findByUserId(userId, "WAITING", null, 5);
+
+        assertThat(result, equalTo(expectedBookings));
+    }
+
+    @Test
+    void shouldFindOwnerBookingsAfterCursor() {
+        long userId = 1L;
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+        List<BookingAllFieldsDto> expectedBookings = Collections.singletonList(
+                BookingAllFieldsDto.builder().id(9L).build()
+        );
+
+        when(mockBookingRepository.findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.PAST), any(), eq(cursor), any()))
+                .thenReturn(expectedBookings);
+
+        List<BookingAllFieldsDto> result = bookingService.findOwnerBookings(userId, "PAST", cursor, 5);
+
+        assertThat(result, equalTo(expectedBookings));
+
+        verify(mockBookingRepository, times(1))
+                .findBookings(eq(BookingRole.OWNER), eq(userId), eq(State.PAST), any(), eq(cursor), any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUserNotFoundInFindOwnerBookingsAfterCursor() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExists(anyLong());
+
+        assertThrows(NotFoundException.class, () ->
+                bookingService.findOwnerBookings(1L, "ALL", cursor, 5));
+    }
+
+    @Test
+    void shouldExportBookingsOfBooker() {
+        Consumer<Booking> consumer = b -> {
+        };
+        
+        when(mockBookingRepository.forEachBooking(eq(BookingRole.BOOKER), eq(user.getId()), eq(State.PAST),
+                any(LocalDateTime.class), anyInt(), eq(consumer))).thenReturn(3L);
+
+        long count = bookingService.exportByUserId(user.getId(), "past", consumer);
+
+        assertThat(count, equalTo(3L));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUserNotFoundInExport() {
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExists(anyLong());
+
+        assertThrows(NotFoundException.class, () -> bookingService.exportByUserId(1L, "all", b -> {
+        }));
+        verify(mockBookingRepository, never()).forEachBooking(any(), anyLong(), any(), any(), anyInt(), any());
+    }
+
+    private static BookingStatusView statusView(long id, Status status) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BookingStatusView.class,
+                Map.of("id", id, "itemId", 1L, "bookerId", 2L, "status", status));
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking.frontier;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static ru.practicum.shareit.util.Comparator.orderByStartDateAsc;
+import static ru.practicum.shareit.util.Comparator.orderByStartDateDesc;
+
+class BookingFrontierSelectorTests {
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    @Test
+    void shouldSelectLastAndNextApprovedBookings() {
+        Booking last = booking(1L, now.minusDays(1), Status.APPROVED);
+        Booking next = booking(2L, now.plusDays(1), Status.APPROVED);
+        List<Booking> bookings = List.of(
+                booking(3L, now.minusDays(3), Status.APPROVED),
+                next,
+                booking(4L, now.minusHours(1), Status.REJECTED),
+                last,
+                booking(5L, now, Status.APPROVED),
+                booking(6L, now.plusHours(1), Status.WAITING),
+                booking(7L, now.plusDays(2), Status.APPROVED));
+
+        BookingFrontierSelector.Selection selection = BookingFrontierSelector.select(bookings, now);
+
+        assertThat(selection.getLast(), sameInstance(last));
+        assertThat(selection.getNext(), sameInstance(next));
+    }
+
+    @Test
+    void shouldSelectNothingWithoutApprovedBookings() {
+        BookingFrontierSelector.Selection selection = BookingFrontierSelector.select(
+                List.of(booking(1L, now.minusDays(1), Status.WAITING)), now);
+
+        assertThat(selection.getLast(), nullValue());
+        assertThat(selection.getNext(), nullValue());
+    }
+
+    @Test
+    void shouldMatchSortedSelectionOnRandomBookings() {
+        Random random = new Random(7);
+        Status[] statuses = Status.values();
+
+        for (int round = 0; round < 200; round++) {
+            List<Booking> bookings = new ArrayList<>();
+            for (long id = 0; id < random.nextInt(50); id++) {
+                bookings.add(booking(id, now.plusHours(random.nextInt(48) - 24),
+                        statuses[random.nextInt(statuses.length)]));
+            }
+
+            BookingFrontierSelector.Selection selection = BookingFrontierSelector.select(bookings, now);
+
+            assertThat(selection.getLast(), equalTo(getLastItem(bookings).orElse(null)));
+            assertThat(selection.getNext(), equalTo(getNextItem(bookings).orElse(null)));
+        }
+    }
+
+    private Optional<Booking> getNextItem(List<Booking> bookings) {
+        return bookings.stream()
+                .sorted(orderByStartDateAsc)
+                .filter(t -> t.getStart().isAfter(now) &&
+                        t.getStatus().equals(Status.APPROVED))
+                .findFirst();
+    }
+
+    private Optional<Booking> getLastItem(List<Booking> bookings) {
+        return bookings.stream()
+                .sorted(orderByStartDateDesc)
+                .filter(t -> t.getStart().isBefore(now) &&
+                        t.getStatus().equals(Status.APPROVED))
+                .findFirst();
+    }
+
+    private static Booking booking(long id, LocalDateTime start, Status status) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(start.plusHours(1))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.booking.frontier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.lock.ItemLockService;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static ru.practicum.shareit.util.Comparator.orderByStartDateAsc;
+import static ru.practicum.shareit.util.Comparator.orderByStartDateDesc;
+
+@DataJpaTest
+@Import({BookingFrontierTracker.class, ItemLockService.class})
+class BookingFrontierTrackerTests {
+    private static final int ITEMS = 4;
+    private static final int BOOKINGS = 80;
+    private static final int STEPS = 300;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingFrontierRepository bookingFrontierRepository;
+
+    @Autowired
+    private BookingFrontierTracker bookingFrontierTracker;
+
+    private final LocalDateTime base = LocalDateTime.now().withNano(0);
+
+    private User booker;
+    private List<Item> items;
+
+    @BeforeEach
+    void init() {
+        User owner = entityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = entityManager.persist(User.builder().name("booker").email("booker@mail.com").build());
+
+        items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(entityManager.persist(Item.builder()
+                    .name("item" + i)
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .build()));
+        }
+    }
+
+    @Test
+    void shouldMatchRecomputedLastAndNextOverRandomHistories() {
+        for (long seed = 0; seed < 3; seed++) {
+            checkRandomHistory(new Random(seed));
+        }
+    }
+
+    @Test
+    void shouldTrackUntrackedItemsOnSweep() {
+        Booking booking = persist(items.get(0), base.plusDays(1), Status.APPROVED);
+        entityManager.flush();
+
+        assertThat(bookingFrontierTracker.sweep(base), equalTo(ITEMS));
+        assertThat(bookingFrontierTracker.sweep(base), equalTo(0));
+        assertThat(bookingFrontierRepository.findById(items.get(0).getId()).orElseThrow().getNextBooking(),
+                equalTo(booking));
+
+        assertThat(bookingFrontierTracker.sweep(base.plusDays(2)), equalTo(1));
+        BookingFrontier frontier = bookingFrontierRepository.findById(items.get(0).getId()).orElseThrow();
+        assertThat(frontier.getLastBooking(), equalTo(booking));
+        assertThat(frontier.getNextStart() == null, equalTo(true));
+    }
+
+    private void checkRandomHistory(Random random) {
+        bookingFrontierRepository.deleteAll();
+        bookingRepository.deleteAll();
+        entityManager.flush();
+
+        List<Booking> waiting = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Item item = items.get(random.nextInt(ITEMS));
+            waiting.add(persist(item, base.plusHours(random.nextInt(24 * 30)), Status.WAITING));
+        }
+        entityManager.flush();
+
+        LocalDateTime time = base;
+        bookingFrontierTracker.sweep(time);
+
+        for (int step = 0; step < STEPS; step++) {
+            int action = random.nextInt(3);
+            if (action == 0 && !waiting.isEmpty()) {
+                Booking booking = waiting.remove(random.nextInt(waiting.size()));
+                booking.setStatus(Status.APPROVED);
+                bookingFrontierTracker.onApproved(bookingRepository.save(booking), time);
+            } else if (action == 1 && !waiting.isEmpty()) {
+                Booking booking = waiting.remove(random.nextInt(waiting.size()));
+                booking.setStatus(Status.REJECTED);
+                bookingRepository.save(booking);
+            } else {
+                time = time.plusHours(random.nextInt(72));
+                bookingFrontierTracker.sweep(time);
+            }
+
+            assertFrontierMatches(time);
+        }
+    }
+
+    private void assertFrontierMatches(LocalDateTime time) {
+        List<Booking> bookings = bookingRepository.findAll();
+        Map<Long, BookingFrontier> frontiers = bookingFrontierRepository.findAll().stream()
+                .collect(Collectors.toMap(BookingFrontier::getItemId, frontier -> frontier));
+        List<Booking> expected = new ArrayList<>();
+
+        for (Item item : items) {
+            List<Booking> itemBookings = bookings.stream()
+                    .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                    .collect(Collectors.toList());
+            Booking last = getLastItem(itemBookings, time).orElse(null);
+            Booking next = getNextItem(itemBookings, time).orElse(null);
+            Booking startingNow = itemBookings.stream()
+                    .filter(t -> t.getStart().equals(time) && t.getStatus().equals(Status.APPROVED))
+                    .min(Comparator.comparing(Booking::getId))
+                    .orElse(null);
+            BookingFrontier frontier = frontiers.get(item.getId());
+
+            assertThat(frontier.getLastBooking(), equalTo(last));
+            assertThat(frontier.getNextBooking(), equalTo(startingNow != null ? startingNow : next));
+            if (last != null) {
+                expected.add(last);
+            }
+            if (next != null) {
+                expected.add(next);
+            }
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        assertThat(bookingFrontierTracker.findLastAndNextBookings(itemIds, time),
+                containsInAnyOrder(expected.toArray()));
+    }
+
+    private static Optional<Booking> getNextItem(List<Booking> bookings, LocalDateTime currentTime) {
+        return bookings.stream()
+                .sorted(orderByStartDateAsc.thenComparing(Booking::getId))
+                .filter(t -> t.getStart().isAfter(currentTime) &&
+                        t.getStatus().equals(Status.APPROVED))
+                .findFirst();
+    }
+
+    private static Optional<Booking> getLastItem(List<Booking> bookings, LocalDateTime currentTime) {
+        return bookings.stream()
+                .sorted(orderByStartDateDesc.thenComparing(Booking::getId, Comparator.reverseOrder()))
+                .filter(t -> t.getStart().isBefore(currentTime) &&
+                        t.getStatus().equals(Status.APPROVED))
+                .findFirst();
+    }
+
+    private Booking persist(Item item, LocalDateTime start, Status status) {
+        return entityManager.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(1))
+                .status(status)
+                .build());
+    }
+}
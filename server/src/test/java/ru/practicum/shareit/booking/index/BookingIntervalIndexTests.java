@@ -0,0 +1,262 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.item.entity.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.booking.enums.Status.APPROVED;
+import static ru.practicum.shareit.booking.enums.Status.WAITING;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTests {
+    private static final long MAX_AGE_MILLIS = 60_000;
+
+    @Mock
+    private BookingRepository mockBookingRepository;
+
+    private BookingIntervalIndex index;
+
+    private final AtomicLong ids = new AtomicLong();
+    private Item item;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void init() {
+        item = Item.builder()
+                .id(1L)
+                .build();
+        base = LocalDateTime.now().plusDays(1);
+        index = new BookingIntervalIndex(mockBookingRepository, MAX_AGE_MILLIS);
+        lenient().when(mockBookingRepository.existsByIdAndStatusIn(anyLong(), anyCollection())).thenReturn(true);
+    }
+
+    @Test
+    void shouldRejectOverlappingBooking() {
+        index.reserve(booking(item, base, base.plusHours(2)));
+
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(item, base.plusHours(1), base.plusHours(3))));
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(item, base.minusHours(1), base.plusHours(5))));
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(item, base.plusMinutes(30), base.plusMinutes(40))));
+    }
+
+    @Test
+    void shouldAllowAdjacentBookings() {
+        index.reserve(booking(item, base, base.plusHours(2)));
+
+        assertDoesNotThrow(() -> index.reserve(booking(item, base.plusHours(2), base.plusHours(3))));
+        assertDoesNotThrow(() -> index.reserve(booking(item, base.minusHours(1), base)));
+    }
+
+    @Test
+    void shouldCheckOverlapWithLongBookingStartedEarlier() {
+        index.reserve(booking(item, base, base.plusDays(30)));
+        index.reserve(booking(item, base.plusDays(31), base.plusDays(32)));
+
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(item, base.plusDays(20), base.plusDays(21))));
+    }
+
+    @Test
+    void shouldKeepItemsIndependent() {
+        Item other = Item.builder().id(2L).build();
+        index.reserve(booking(item, base, base.plusHours(2)));
+
+        assertDoesNotThrow(() -> index.reserve(booking(other, base, base.plusHours(2))));
+    }
+
+    @Test
+    void shouldAllowBookingAfterRelease() {
+        Booking booking = booking(item, base, base.plusHours(2));
+        index.reserve(booking);
+        index.release(booking);
+
+        assertDoesNotThrow(() -> index.reserve(booking(item, base, base.plusHours(2))));
+    }
+
+    @Test
+    void shouldLoadActiveBookingsFromRepository() {
+        Booking existing = booking(item, base, base.plusHours(2));
+        existing.setStatus(APPROVED);
+        when(mockBookingRepository.findByItemIdAndStatusInAndEndAfter(eq(1L), anyCollection(), any()))
+                .thenReturn(List.of(existing));
+
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(item, base.plusHours(1), base.plusHours(3))));
+        verify(mockBookingRepository, times(1))
+                .findByItemIdAndStatusInAndEndAfter(eq(1L), anyCollection(), any());
+    }
+
+    @Test
+    void shouldReloadSlotOlderThanMaxAge() {
+        index = new BookingIntervalIndex(mockBookingRepository, 0);
+        Booking otherInstanceBooking = booking(item, base.plusDays(1), base.plusDays(2));
+        otherInstanceBooking.setStatus(APPROVED);
+        when(mockBookingRepository.findByItemIdAndStatusInAndEndAfter(eq(1L), anyCollection(), any()))
+                .thenReturn(Collections.emptyList(), List.of(otherInstanceBooking));
+
+        index.reserve(booking(item, base, base.plusHours(2)));
+
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(item, base.plusDays(1).plusHours(1), base.plusDays(1).plusHours(2))));
+        verify(mockBookingRepository, times(2))
+                .findByItemIdAndStatusInAndEndAfter(eq(1L), anyCollection(), any());
+    }
+
+    @Test
+    void shouldDropIntervalsMissingFromReloadedSlot() {
+        index = new BookingIntervalIndex(mockBookingRepository, 0);
+        when(mockBookingRepository.findByItemIdAndStatusInAndEndAfter(eq(1L), anyCollection(), any()))
+                .thenReturn(Collections.emptyList());
+
+        index.reserve(booking(item, base, base.plusDays(30)));
+
+        assertDoesNotThrow(() -> index.reserve(booking(item, base.plusDays(10), base.plusDays(11))));
+    }
+
+    @Test
+    void shouldEvictStaleSlots() {
+        index = new BookingIntervalIndex(mockBookingRepository, 0);
+        index.reserve(booking(item, base, base.plusHours(2)));
+        index.reserve(booking(Item.builder().id(2L).build(), base, base.plusHours(2)));
+
+        index.evictStale();
+
+        assertThat(index.slotCount(), equalTo(0));
+    }
+
+    @Test
+    void shouldPreloadAllItemsOfBatchWithSingleQuery() {
+        Item other = Item.builder().id(2L).build();
+        Booking existing = booking(other, base, base.plusHours(2));
+        Booking first = booking(item, base, base.plusHours(2));
+        Booking second = booking(other, base.plusHours(2), base.plusHours(3));
+        when(mockBookingRepository.findByItemIdInAndStatusInAndEndAfter(anyCollection(), anyCollection(), any()))
+                .thenReturn(List.of(existing, first, second));
+
+        index.reserveAll(List.of(first, second));
+
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(other, base.plusHours(1), base.plusHours(2))));
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(item, base.plusHours(1), base.plusHours(3))));
+        verify(mockBookingRepository, times(1))
+                .findByItemIdInAndStatusInAndEndAfter(eq(Set.of(1L, 2L)), anyCollection(), any());
+        verify(mockBookingRepository, never()).findByItemIdAndStatusInAndEndAfter(anyLong(), anyCollection(), any());
+    }
+
+    @Test
+    void shouldRejectBatchWithOverlappingBookings() {
+        List<Booking> batch = List.of(
+                booking(item, base, base.plusHours(2)),
+                booking(item, base.plusHours(2), base.plusHours(3)),
+                booking(item, base.plusHours(1), base.plusHours(4)));
+
+        assertThrows(NotAvailableException.class, () -> index.reserveAll(batch));
+    }
+
+    @Test
+    void shouldRejectOverlapFoundOnlyInRepository() {
+        when(mockBookingRepository.findByItemIdAndStatusInAndEndAfter(eq(1L), anyCollection(), any()))
+                .thenReturn(Collections.emptyList());
+        when(mockBookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfterAndIdNot(
+                eq(1L), anyCollection(), any(), any(), anyLong()))
+                .thenReturn(true, false);
+
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(item, base, base.plusHours(1))));
+        index.reserve(booking(item, base.plusHours(2), base.plusHours(3)));
+
+        verify(mockBookingRepository, times(2))
+                .findByItemIdAndStatusInAndEndAfter(eq(1L), anyCollection(), any());
+    }
+
+    @Test
+    void shouldRejectPastOverlapFoundInRepository() {
+        when(mockBookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfterAndIdNot(
+                eq(1L), anyCollection(), any(), any(), anyLong()))
+                .thenReturn(true);
+
+        LocalDateTime past = LocalDateTime.now().minusDays(2);
+
+        assertThrows(NotAvailableException.class, () ->
+                index.reserve(booking(item, past, past.plusHours(1))));
+    }
+
+    @Test
+    void shouldDropIndexedIntervalNoLongerActiveInRepository() {
+        Booking cancelledElsewhere = booking(item, base, base.plusHours(2));
+        index.reserve(cancelledElsewhere);
+        when(mockBookingRepository.existsByIdAndStatusIn(eq(cancelledElsewhere.getId()), anyCollection()))
+                .thenReturn(false);
+
+        assertDoesNotThrow(() -> index.reserve(booking(item, base.plusHours(1), base.plusHours(3))));
+        verify(mockBookingRepository, times(1))
+                .existsByIdAndStatusIn(eq(cancelledElsewhere.getId()), anyCollection());
+    }
+
+    @Test
+    void shouldAcceptOnlyOneOfConcurrentOverlappingBookings() throws InterruptedException {
+        when(mockBookingRepository.findByItemIdAndStatusInAndEndAfter(anyLong(), anyCollection(), any()))
+                .thenReturn(Collections.emptyList());
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            Booking booking = booking(item, base.plusMinutes(i), base.plusHours(1));
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                try {
+                    index.reserve(booking);
+                    accepted.incrementAndGet();
+                } catch (NotAvailableException ignored) {
+                    // ожидаемый конфликт
+                }
+                return null;
+            }));
+        }
+
+        startLatch.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), equalTo(true));
+        assertThat(futures.size(), equalTo(threads));
+        assertThat(accepted.get(), equalTo(1));
+    }
+
+    private Booking booking(Item item, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(ids.incrementAndGet())
+                .item(item)
+                .start(start)
+                .end(end)
+                .status(WAITING)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemLockServiceTests {
+    private ItemLockService itemLockService;
+
+    @BeforeEach
+    void init() {
+        itemLockService = new ItemLockService(16, Duration.ofMillis(50));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldRequireActiveTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThrows(IllegalStateException.class, () -> itemLockService.lockUntilCompletion(1L));
+    }
+
+    @Test
+    void shouldHoldLockUntilTransactionCompletion() throws Exception {
+        itemLockService.lockUntilCompletion(1L);
+
+        assertThrows(CannotAcquireLockException.class, () -> lockInOtherThread(1L));
+
+        complete();
+
+        assertDoesNotThrow(() -> lockInOtherThread(1L));
+    }
+
+    @Test
+    void shouldNotBlockOtherStripes() {
+        itemLockService.lockUntilCompletion(1L);
+
+        long otherItemId = 2L;
+        while (itemLockService.stripeIndex(otherItemId) == itemLockService.stripeIndex(1L)) {
+            otherItemId++;
+        }
+
+        long freeItemId = otherItemId;
+        assertDoesNotThrow(() -> lockInOtherThread(freeItemId));
+    }
+
+    @Test
+    void shouldHoldAllLocksUntilTransactionCompletion() throws Exception {
+        itemLockService.lockAllUntilCompletion(List.of(3L, 1L, 2L, 1L));
+
+        assertThrows(CannotAcquireLockException.class, () -> lockInOtherThread(1L));
+        assertThrows(CannotAcquireLockException.class, () -> lockInOtherThread(3L));
+
+        complete();
+
+        assertDoesNotThrow(() -> lockInOtherThread(1L));
+        assertDoesNotThrow(() -> lockInOtherThread(3L));
+    }
+
+    @Test
+    void shouldRunRollbackCallbacksBeforeReleasingLock() {
+        itemLockService.lockUntilCompletion(1L);
+        AtomicBoolean lockedDuringRollback = new AtomicBoolean();
+        TransactionCallbacks.onRollback(() -> lockedDuringRollback.set(
+                assertThrows(CannotAcquireLockException.class, () -> lockInOtherThread(1L)) != null));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertThat(lockedDuringRollback.get(), equalTo(true));
+        assertDoesNotThrow(() -> lockInOtherThread(1L));
+    }
+
+    @Test
+    void shouldSpreadSequentialIdsAcrossStripes() {
+        Set<Integer> used = new HashSet<>();
+        for (long id = 1; id <= 16; id++) {
+            used.add(itemLockService.stripeIndex(id));
+        }
+
+        assertThat(used.size(), greaterThan(8));
+    }
+
+    private void lockInOtherThread(long itemId) throws Exception {
+        try {
+            CompletableFuture.runAsync(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    itemLockService.lockUntilCompletion(itemId);
+                    complete();
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            }).get();
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private static void complete() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(TransactionSynchronizationManager.getSynchronizations().size(), equalTo(0));
+    }
+}
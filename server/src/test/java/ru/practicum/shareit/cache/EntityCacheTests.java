@@ -0,0 +1,106 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class EntityCacheTests {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private long ownerId;
+    private long itemId;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        ownerId = userService.save(User.builder().name("owner").email("owner@email.ru").build()).getId();
+        itemId = itemService.save(ItemDto.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .build(), ownerId).getId();
+
+        statistics.clear();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        userService.findById(ownerId);
+        userService.findById(ownerId);
+        itemService.update(Item.builder().name("updated").build(), itemId, ownerId);
+
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount(),
+                equalTo(2L));
+        assertThat(statistics.getDomainDataRegionStatistics("items").getHitCount(),
+                equalTo(1L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+    }
+
+    @Test
+    void shouldExportCacheRequestsThroughMetrics() {
+        userService.findById(ownerId);
+
+        double hits = meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "users")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+
+        assertThat(hits, greaterThan(0.0));
+    }
+
+    @Test
+    void shouldRefreshCachedUserAfterUpdate() {
+        userService.findById(ownerId);
+
+        userService.update(User.builder().name("updated").build(), ownerId);
+
+        assertThat(userService.findById(ownerId).getName(), equalTo("updated"));
+    }
+
+    @Test
+    void shouldRefreshCachedItemAfterUpdate() {
+        itemService.findById(ownerId, itemId);
+
+        itemService.update(Item.builder().available(false).build(), itemId, ownerId);
+
+        assertThat(itemService.findById(ownerId, itemId).getAvailable(), equalTo(false));
+    }
+
+    @Test
+    void shouldEvictCascadedItemsAfterOwnerDeletion() {
+        itemService.findById(ownerId, itemId);
+
+        userService.deleteById(ownerId);
+
+        assertThrows(NotFoundException.class, () -> userService.findById(ownerId));
+        assertThrows(NotFoundException.class, () -> itemService.findById(ownerId, itemId));
+    }
+}
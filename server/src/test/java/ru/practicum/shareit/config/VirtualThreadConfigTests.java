@@ -0,0 +1,36 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"shareit.threads.virtual.enabled=true",
+                "spring.datasource.url=jdbc:h2:mem:virtual-threads;MODE=PostgreSQL"})
+@DirtiesContext
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class VirtualThreadConfigTests {
+    private final ServletWebServerApplicationContext context;
+
+    @Test
+    void requestsAreHandledOnVirtualThreads() throws Exception {
+        Executor executor = ((TomcatWebServer) context.getWebServer()).getTomcat()
+                .getConnector()
+                .getProtocolHandler()
+                .getExecutor();
+
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        executor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+
+        assertTrue(virtual.get());
+    }
+}
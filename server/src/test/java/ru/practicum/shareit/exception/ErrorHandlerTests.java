@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -38,6 +39,14 @@ class ErrorHandlerTests {
         assertEquals("Bad request", result.get("message"));
     }
 
+    @Test
+    void testHandleServiceUnavailable() {
+        CannotCreateTransactionException exception = new CannotCreateTransactionException("Connection is not available");
+        Map<String, String> result = errorHandler.handleServiceUnavailable(exception);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.toString(), result.get("status"));
+        assertEquals("Connection is not available", result.get("message"));
+    }
+
     @Test
     void testHandleRaw() {
         Throwable throwable = new Throwable("Internal server error");
@@ -65,6 +65,19 @@ class ItemRepositoryTests {
         entityManager.persist(item3);
     }
 
+    @Test
+    void shouldLockItemsForBookingAndIncrementVersion() {
+        entityManager.flush();
+        long version = item1.getVersion();
+
+        assertThat(itemRepository.lockForBooking(item2.getId()).orElseThrow(), equalTo(item2));
+        assertThat(itemRepository.lockAllForBooking(List.of(item3.getId(), item1.getId())),
+                contains(item1, item3));
+
+        entityManager.clear();
+        assertThat(entityManager.find(Item.class, item1.getId()).getVersion(), equalTo(version + 1));
+    }
+
     @Test
     void shouldReturnAllItems() {
         List<Item> items = itemRepository.findItemsByText("pen", page);
@@ -7,29 +7,35 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.frontier.BookingFrontierTracker;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.comment.CommentEligibilityCache;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSubstringIndex;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongPredicate;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -58,6 +64,18 @@ class ItemServiceImplTests {
     @Mock
     private ItemRequestRepository mockItemRequestRepository;
 
+    @Mock
+    private ItemSearchIndex mockItemSearchIndex;
+
+    @Mock
+    private ItemSubstringIndex mockItemSubstringIndex;
+
+    @Mock
+    private BookingFrontierTracker mockBookingFrontierTracker;
+
+    @Mock
+    private CommentEligibilityCache mockCommentEligibilityCache;
+
     private User user;
     private Item item;
     private Booking booking;
@@ -111,6 +129,7 @@ class ItemServiceImplTests {
 
         verify(mockUserRepository, times(1)).findById(user.getId());
         verify(mockItemRepository, times(1)).save(any());
+        verify(mockItemSearchIndex, times(1)).index(any());
     }
 
     @Test
@@ -175,6 +194,7 @@ class ItemServiceImplTests {
 
         verify(mockItemRepository, times(1)).findById(item.getId());
         verify(mockItemRepository, times(1)).save(any());
+        verify(mockItemSearchIndex, times(1)).index(any());
     }
 
     @Test
@@ -225,6 +245,34 @@ class ItemServiceImplTests {
         verify(mockItemRepository, times(1)).findById(item.getId());
     }
 
+    @Test
+    void shouldReturnLastAndNextBookingsInFindById() {
+        LocalDateTime now = LocalDateTime.now();
+        User booker = User.builder().id(2L).build();
+        Booking last = booking.toBuilder().start(now.minusDays(1)).end(now.plusDays(1)).booker(booker).build();
+        Booking next = booking.toBuilder().id(2L).start(now.plusDays(2)).end(now.plusDays(3)).booker(booker).build();
+
+        when(mockItemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(mockBookingFrontierTracker.findLastAndNextBookings(eq(List.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of(next, last));
+
+        ItemAllFieldsDto result = itemService.findById(user.getId(), item.getId());
+
+        assertThat(result.getLastBooking().getId(), equalTo(last.getId()));
+        assertThat(result.getNextBooking().getId(), equalTo(next.getId()));
+    }
+
+    @Test
+    void shouldNotQueryBookingsOfForeignItemInFindById() {
+        when(mockItemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        ItemAllFieldsDto result = itemService.findById(2L, item.getId());
+
+        assertNull(result.getLastBooking());
+        assertNull(result.getNextBooking());
+        verify(mockBookingFrontierTracker, never()).findLastAndNextBookings(any(), any());
+    }
+
     @Test
     void shouldThrowNotFoundExceptionWhenItemNotFoundInFindById() {
         when(mockItemRepository.findById(item.getId())).thenReturn(Optional.empty());
@@ -241,7 +289,8 @@ class ItemServiceImplTests {
         String searchText = "Test";
         List<Item> items = Collections.singletonList(item);
 
-        when(mockItemRepository.findItemsByText(searchText, Pageable.unpaged())).thenReturn(items);
+        when(mockItemSearchIndex.search(searchText, Pageable.unpaged())).thenReturn(List.of(item.getId()));
+        when(mockItemRepository.findAllById(List.of(item.getId()))).thenReturn(items);
 
         Collection<ItemAllFieldsDto> result = itemService.searchByText(searchText, user.getId(), Pageable.unpaged());
 
@@ -250,7 +299,41 @@ class ItemServiceImplTests {
         assertThat(result.iterator().next().getId(), equalTo(item.getId()));
         assertThat(result.iterator().next().getName(), equalTo(item.getName()));
 
-        verify(mockItemRepository, times(1)).findItemsByText(searchText, Pageable.unpaged());
+        verify(mockItemSearchIndex, times(1)).search(searchText, Pageable.unpaged());
+    }
+
+    @Test
+    void shouldPutWordHitsBeforeSubstringHitsInSearchByText() {
+        String searchText = "дрел";
+        Item second = item.toBuilder().id(2L).name("second").build();
+        Item third = item.toBuilder().id(3L).name("third").build();
+
+        when(mockItemSearchIndex.search(searchText, PageRequest.of(0, 3))).thenReturn(List.of(3L, 1L));
+        when(mockItemSubstringIndex.search(eq(searchText), eq(1), any(LongPredicate.class))).thenReturn(List.of(2L));
+        when(mockItemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(second, item));
+
+        List<ItemAllFieldsDto> result = (List<ItemAllFieldsDto>) itemService.searchByText(searchText, user.getId(),
+                new OffsetBasedPageRequest(1, 2));
+
+        assertThat(result, hasSize(2));
+        assertThat(result.get(0).getId(), equalTo(item.getId()));
+        assertThat(result.get(1).getId(), equalTo(second.getId()));
+        verify(mockItemRepository, never()).findAllById(List.of(third.getId()));
+    }
+
+    @Test
+    void shouldNotSearchSubstringsWhenWordHitsFillPageInSearchByText() {
+        String searchText = "дрель";
+
+        when(mockItemSearchIndex.search(searchText, PageRequest.of(0, 2))).thenReturn(List.of(3L, 1L));
+        when(mockItemRepository.findAllById(List.of(1L))).thenReturn(List.of(item));
+
+        List<ItemAllFieldsDto> result = (List<ItemAllFieldsDto>) itemService.searchByText(searchText, user.getId(),
+                new OffsetBasedPageRequest(1, 1));
+
+        assertThat(result, hasSize(1));
+        assertThat(result.get(0).getId(), equalTo(item.getId()));
+        verify(mockItemSubstringIndex, never()).search(anyString(), anyInt(), any());
     }
 
     @Test
@@ -262,7 +345,7 @@ class ItemServiceImplTests {
         assertNotNull(result);
         assertThat(result, empty());
 
-        verify(mockItemRepository, never()).findItemsByText(searchText, Pageable.unpaged());
+        verify(mockItemSearchIndex, never()).search(searchText, Pageable.unpaged());
     }
 
     @Test
@@ -289,11 +372,8 @@ class ItemServiceImplTests {
 
         when(mockUserRepository.findById(any())).thenReturn(Optional.of(user));
         when(mockItemRepository.findById(any())).thenReturn(Optional.of(item));
-        when(mockBookingRepository.findByBooker(user, Sort.unsorted())).thenReturn(Collections.singletonList(booking));
-
-        List<Booking> bookings = Collections.singletonList(booking);
-        when(mockBookingRepository.findBookingByItemIdAndStatusNotInAndStartBefore(eq(itemId),
-                eq(List.of(Status.REJECTED)), any())).thenReturn(bookings);
+        when(mockBookingRepository.existsByBookerIdAndItemIdAndStatusInAndStartBefore(eq(userId), eq(itemId),
+                eq(List.of(Status.WAITING, Status.APPROVED)), any())).thenReturn(true);
 
         when(mockCommentRepository.save(any())).thenReturn(comment);
 
@@ -305,13 +385,28 @@ class ItemServiceImplTests {
 
         verify(mockUserRepository, times(1)).findById(userId);
         verify(mockItemRepository, times(1)).findById(itemId);
-        verify(mockBookingRepository, times(1)).findByBooker(user, Sort.unsorted());
-        verify(mockBookingRepository, times(1))
-                .findBookingByItemIdAndStatusNotInAndStartBefore(eq(itemId),
-                eq(List.of(Status.REJECTED)), any());
+        verify(mockBookingRepository, times(1)).existsByBookerIdAndItemIdAndStatusInAndStartBefore(eq(userId),
+                eq(itemId), eq(List.of(Status.WAITING, Status.APPROVED)), any());
+        verify(mockCommentEligibilityCache, times(1)).markEligible(userId, itemId);
         verify(mockCommentRepository, times(1)).save(any());
     }
 
+    @Test
+    void shouldSkipBookingCheckWhenUserIsKnownToBeEligibleInSaveComment() {
+        long itemId = 1L;
+        long userId = 1L;
+
+        when(mockUserRepository.findById(any())).thenReturn(Optional.of(user));
+        when(mockItemRepository.findById(any())).thenReturn(Optional.of(item));
+        when(mockCommentEligibilityCache.isEligible(userId, itemId)).thenReturn(true);
+        when(mockCommentRepository.save(any())).thenReturn(comment);
+
+        itemService.saveComment(itemId, userId, "Test comment");
+
+        verify(mockBookingRepository, never()).existsByBookerIdAndItemIdAndStatusInAndStartBefore(anyLong(),
+                anyLong(), anyCollection(), any());
+        verify(mockCommentRepository, times(1)).save(any());
+    }
 
     @Test
     void shouldThrowValidationExceptionWhenTextIsBlankWhenSaveComment() {
@@ -323,7 +418,8 @@ class ItemServiceImplTests {
 
         verify(mockUserRepository, never()).findById(userId);
         verify(mockItemRepository, never()).findById(itemId);
-        verify(mockBookingRepository, never()).findByBooker(user, Sort.unsorted());
+        verify(mockBookingRepository, never()).existsByBookerIdAndItemIdAndStatusInAndStartBefore(anyLong(),
+                anyLong(), anyCollection(), any());
         verify(mockCommentRepository, never()).save(any());
     }
 
@@ -335,33 +431,14 @@ class ItemServiceImplTests {
 
         when(mockUserRepository.findById(userId)).thenReturn(Optional.of(user));
         when(mockItemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(mockBookingRepository.findByBooker(user, Sort.unsorted())).thenReturn(Collections.emptyList());
-
-        assertThrows(ValidationException.class, () -> itemService.saveComment(itemId, userId, text));
-
-        verify(mockUserRepository, times(1)).findById(userId);
-        verify(mockItemRepository, times(1)).findById(itemId);
-        verify(mockBookingRepository, times(1)).findByBooker(user, Sort.unsorted());
-        verify(mockCommentRepository, never()).save(any());
-    }
-
-    @Test
-    void shouldThrowValidationExceptionWhenNoBookingsForItemInSaveComment() {
-        long itemId = 1L;
-        long userId = 1L;
-        String text = "Test comment";
-
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(mockBookingRepository.findByBooker(eq(user), Mockito.any(Sort.class))).thenReturn(Collections.emptyList());
+        when(mockBookingRepository.existsByBookerIdAndItemIdAndStatusInAndStartBefore(eq(userId), eq(itemId),
+                eq(List.of(Status.WAITING, Status.APPROVED)), any())).thenReturn(false);
 
         assertThrows(ValidationException.class, () -> itemService.saveComment(itemId, userId, text));
 
         verify(mockUserRepository, times(1)).findById(userId);
         verify(mockItemRepository, times(1)).findById(itemId);
-        verify(mockBookingRepository, times(1)).findByBooker(eq(user), Mockito.any(Sort.class));
-        verify(mockBookingRepository, never()).findBookingByItemIdAndStatusNotInAndStartBefore(
-                anyLong(), anyList(), Mockito.any(LocalDateTime.class));
+        verify(mockCommentEligibilityCache, never()).markEligible(anyLong(), anyLong());
         verify(mockCommentRepository, never()).save(any());
     }
 
@@ -454,7 +531,6 @@ class ItemServiceImplTests {
 
         when(mockUserRepository.findById(any())).thenReturn(Optional.ofNullable(user));
         when(mockItemRepository.findById(any())).thenReturn(Optional.ofNullable(item));
-        when(mockBookingRepository.findByBooker(any(), (Sort) any())).thenReturn(List.of(booking));
 
         assertThrows(ValidationException.class, () -> itemService.saveComment(itemId, userId, text));
     }
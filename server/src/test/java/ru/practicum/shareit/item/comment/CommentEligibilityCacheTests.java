@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.comment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommentEligibilityCacheTests {
+    private final CommentEligibilityCache cache = new CommentEligibilityCache(2);
+
+    @Test
+    void shouldRememberEligibleItemsOfUser() {
+        cache.markEligible(1L, 10L);
+
+        assertTrue(cache.isEligible(1L, 10L));
+        assertFalse(cache.isEligible(1L, 11L));
+        assertFalse(cache.isEligible(2L, 10L));
+    }
+
+    @Test
+    void shouldForgetEvictedItem() {
+        cache.markEligible(1L, 10L);
+        cache.markEligible(1L, 11L);
+
+        cache.evict(1L, 10L);
+
+        assertFalse(cache.isEligible(1L, 10L));
+        assertTrue(cache.isEligible(1L, 11L));
+    }
+
+    @Test
+    void shouldDropLeastRecentlyUsedUser() {
+        cache.markEligible(1L, 10L);
+        cache.markEligible(2L, 10L);
+        cache.isEligible(1L, 10L);
+
+        cache.markEligible(3L, 10L);
+
+        assertTrue(cache.isEligible(1L, 10L));
+        assertFalse(cache.isEligible(2L, 10L));
+        assertTrue(cache.isEligible(3L, 10L));
+    }
+}
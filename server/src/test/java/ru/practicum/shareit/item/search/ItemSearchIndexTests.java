@@ -0,0 +1,154 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTests {
+    @InjectMocks
+    private ItemSearchIndex index;
+
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void init() {
+        owner = User.builder()
+                .id(1L)
+                .build();
+    }
+
+    @Test
+    void shouldFindItemsByStemmedRussianWords() {
+        index.index(item(1L, "Дрель", "Простая дрель со сверлами", true));
+        index.index(item(2L, "Отвертка", "Аккумуляторная отвертка", true));
+
+        assertThat(index.search("дрели", Pageable.unpaged()), contains(1L));
+        assertThat(index.search("СВЕРЛО", Pageable.unpaged()), contains(1L));
+        assertThat(index.search("аккумуляторную", Pageable.unpaged()), contains(2L));
+    }
+
+    @Test
+    void shouldFindItemsByStemmedEnglishWords() {
+        index.index(item(1L, "Drill", "Cordless drill with batteries", true));
+
+        assertThat(index.search("drilling", Pageable.unpaged()), contains(1L));
+        assertThat(index.search("battery", Pageable.unpaged()), contains(1L));
+    }
+
+    @Test
+    void shouldRequireAllWordsOfQuery() {
+        index.index(item(1L, "pen", "black pen", true));
+        index.index(item(2L, "pen", "red pen", true));
+
+        assertThat(index.search("black pen", Pageable.unpaged()), contains(1L));
+        assertThat(index.search("green pen", Pageable.unpaged()), empty());
+    }
+
+    @Test
+    void shouldRankNameMatchesFirst() {
+        index.index(item(1L, "Чехол", "Чехол для дрели", true));
+        index.index(item(2L, "Дрель", "Ударная", true));
+
+        assertThat(index.search("дрель", Pageable.unpaged()), contains(2L, 1L));
+    }
+
+    @Test
+    void shouldSkipUnavailableItems() {
+        index.index(item(1L, "Дрель", "Дрель", false));
+        index.index(item(2L, "Дрель", "Дрель", true));
+
+        assertThat(index.search("дрель", Pageable.unpaged()), contains(2L));
+    }
+
+    @Test
+    void shouldReplaceTermsOnUpdate() {
+        index.index(item(1L, "Дрель", "Дрель", true));
+        index.index(item(1L, "Пила", "Пила", true));
+
+        assertThat(index.search("дрель", Pageable.unpaged()), empty());
+        assertThat(index.search("пила", Pageable.unpaged()), contains(1L));
+    }
+
+    @Test
+    void shouldApplyPage() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(item(id, "Дрель", "Дрель", true));
+        }
+
+        assertThat(index.search("дрель", PageRequest.of(1, 2)), contains(3L, 4L));
+    }
+
+    @Test
+    void shouldRemoveItemsOfOwner() {
+        index.index(item(1L, "Дрель", "Дрель", true));
+
+        index.removeByOwner(owner.getId());
+
+        assertThat(index.search("дрель", Pageable.unpaged()), empty());
+    }
+
+    @Test
+    void shouldRebuildFromRepository() {
+        index.index(item(1L, "Пила", "Пила", true));
+        when(mockItemRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(item(2L, "Дрель", "Дрель", true))));
+
+        index.rebuild();
+
+        assertThat(index.search("пила", Pageable.unpaged()), empty());
+        assertThat(index.search("дрель", Pageable.unpaged()), contains(2L));
+    }
+
+    @Test
+    void shouldKeepWritesMadeDuringRebuild() {
+        User otherOwner = User.builder()
+                .id(2L)
+                .build();
+        Item hammer = item(3L, "Молоток", "Молоток", true);
+        hammer.setOwner(otherOwner);
+        index.index(hammer);
+
+        when(mockItemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            index.index(item(10L, "Пила", "Пила", true));
+            index.removeByOwner(otherOwner.getId());
+            return new PageImpl<>(List.of(item(2L, "Дрель", "Дрель", true), hammer));
+        });
+
+        index.rebuild();
+
+        assertThat(index.search("пила", Pageable.unpaged()), contains(10L));
+        assertThat(index.search("молоток", Pageable.unpaged()), empty());
+        assertThat(index.search("дрель", Pageable.unpaged()), contains(2L));
+    }
+
+    private Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
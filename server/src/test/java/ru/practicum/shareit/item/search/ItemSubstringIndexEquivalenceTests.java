@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest
+@Import(ItemSubstringIndex.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ItemSubstringIndexEquivalenceTests {
+    private static final String[] SYLLABLES = {"дре", "ль", "Пи", "ла", "от", "вЁр", "тка", "ak", "Ku", "mul",
+            "ya", "TOR", "pen", "cil", " ", "-", "1", "42"};
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemSubstringIndex itemSubstringIndex;
+
+    private final Random random = new Random(42);
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeAll
+    void init() {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+
+        for (int i = 0; i < 300; i++) {
+            items.add(itemRepository.save(Item.builder()
+                    .name(randomText(1 + random.nextInt(3)))
+                    .description(randomText(1 + random.nextInt(6)))
+                    .available(random.nextInt(4) != 0)
+                    .owner(owner)
+                    .build()));
+        }
+
+        itemSubstringIndex.rebuild();
+    }
+
+    @Test
+    void shouldAnswerSameAsRepositoryForFragmentsOfItems() {
+        for (int i = 0; i < 500; i++) {
+            Item item = items.get(random.nextInt(items.size()));
+            String text = random.nextBoolean() ? item.getName() : item.getDescription();
+            int from = random.nextInt(text.length());
+            int to = Math.min(text.length(), from + 1 + random.nextInt(6));
+
+            assertSameResults(text.substring(from, to));
+        }
+    }
+
+    @Test
+    void shouldAnswerSameAsRepositoryForRandomQueries() {
+        for (int i = 0; i < 300; i++) {
+            assertSameResults(randomText(1 + random.nextInt(2)));
+        }
+    }
+
+    @Test
+    void shouldAnswerSameAsRepositoryAfterUpdates() {
+        for (int i = 0; i < 50; i++) {
+            Item item = items.get(random.nextInt(items.size()));
+            item.setName(randomText(2));
+            item.setAvailable(random.nextBoolean());
+            Item saved = itemRepository.save(item);
+            items.set(items.indexOf(item), saved);
+            itemSubstringIndex.index(saved);
+        }
+
+        for (int i = 0; i < 300; i++) {
+            assertSameResults(randomText(1));
+        }
+    }
+
+    private void assertSameResults(String query) {
+        List<Long> expected = itemRepository.findItemsByText(query, Pageable.unpaged()).stream()
+                .map(Item::getId)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertThat("Запрос '" + query + "'", itemSubstringIndex.search(query), equalTo(expected));
+    }
+
+    private String randomText(int syllables) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            text.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return text.toString();
+    }
+}
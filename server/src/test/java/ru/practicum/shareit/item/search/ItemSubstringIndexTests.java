@@ -0,0 +1,200 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSubstringIndexTests {
+    private ItemSubstringIndex index;
+
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void init() {
+        index = new ItemSubstringIndex(mockItemRepository, 2, 2);
+        owner = User.builder()
+                .id(1L)
+                .build();
+    }
+
+    @Test
+    void shouldFindItemsByPartOfWord() {
+        index.index(item(1L, "Дрель", "Простая дрель", true));
+        index.index(item(2L, "Otvertka", "Akkumulyatornaya", true));
+
+        assertThat(index.search("дрел"), contains(1L));
+        assertThat(index.search("OTVER"), contains(2L));
+        assertThat(index.search("mulya"), contains(2L));
+        assertThat(index.search("пила"), empty());
+    }
+
+    @Test
+    void shouldNotMatchAcrossNameAndDescription() {
+        index.index(item(1L, "pen", "cil", true));
+
+        assertThat(index.search("pencil"), empty());
+        assertThat(index.search("encil"), empty());
+    }
+
+    @Test
+    void shouldVerifyCandidatesFoundByTrigrams() {
+        index.index(item(1L, "abcd bcde", "", true));
+
+        assertThat(index.search("abcde"), empty());
+        assertThat(index.search("bcde"), contains(1L));
+    }
+
+    @Test
+    void shouldFindItemsByShortQuery() {
+        index.index(item(1L, "Дрель", "", true));
+        index.index(item(2L, "Пила", "", true));
+
+        assertThat(index.search("л"), contains(1L, 2L));
+        assertThat(index.search("ил"), contains(2L));
+    }
+
+    @Test
+    void shouldSkipUnavailableItems() {
+        index.index(item(1L, "Дрель", "", false));
+
+        assertThat(index.search("дрель"), empty());
+    }
+
+    @Test
+    void shouldReplaceItemOnUpdate() {
+        index.index(item(1L, "Дрель", "", true));
+        index.index(item(1L, "Пила", "", true));
+
+        assertThat(index.search("дрель"), empty());
+        assertThat(index.search("пила"), contains(1L));
+    }
+
+    @Test
+    void shouldRemoveItemsOfOwner() {
+        index.index(item(1L, "Дрель", "", true));
+
+        index.removeByOwner(owner.getId());
+
+        assertThat(index.search("дрель"), empty());
+    }
+
+    @Test
+    void shouldKeepResultsAfterCompaction() {
+        for (int i = 0; i < 3000; i++) {
+            index.index(item(i % 3, "Дрель " + i, "", true));
+        }
+
+        assertThat(index.search("дрель"), contains(0L, 1L, 2L));
+        assertThat(index.search("дрель 2999"), contains(2L));
+        assertThat(index.search("дрель 10"), empty());
+    }
+
+    @Test
+    void shouldRebuildFromRepositoryInBatches() {
+        index.index(item(100L, "Пила", "", true));
+        when(mockItemRepository.findMaxId()).thenReturn(5L);
+        when(mockItemRepository.findAllByIdBetween(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            return LongStream.rangeClosed(Math.max(from, 1), Math.min(to, 5))
+                    .mapToObj(id -> item(id, "Дрель " + id, "", true))
+                    .collect(Collectors.toList());
+        });
+
+        index.rebuild();
+
+        assertThat(index.search("пила"), empty());
+        assertThat(index.search("дрель"), contains(1L, 2L, 3L, 4L, 5L));
+        assertThat(index.search("дрель 4"), contains(4L));
+    }
+
+    @Test
+    void shouldKeepWritesMadeDuringRebuild() {
+        User otherOwner = User.builder()
+                .id(2L)
+                .build();
+        Item hammer = item(3L, "Молоток", "", true);
+        hammer.setOwner(otherOwner);
+        index.index(hammer);
+
+        AtomicBoolean written = new AtomicBoolean();
+        when(mockItemRepository.findMaxId()).thenReturn(3L);
+        when(mockItemRepository.findAllByIdBetween(anyLong(), anyLong())).thenAnswer(invocation -> {
+            if (written.compareAndSet(false, true)) {
+                index.index(item(10L, "Пила", "", true));
+                index.removeByOwner(otherOwner.getId());
+            }
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            return LongStream.rangeClosed(Math.max(from, 1), Math.min(to, 3))
+                    .mapToObj(id -> id == 3 ? hammer : item(id, "Дрель " + id, "", true))
+                    .collect(Collectors.toList());
+        });
+
+        index.rebuild();
+
+        assertThat(index.search("пила"), contains(10L));
+        assertThat(index.search("молоток"), empty());
+        assertThat(index.search("дрель"), contains(1L, 2L));
+    }
+
+    @Test
+    void shouldLimitResultsAndSkipExcludedItems() {
+        for (long id = 5; id > 0; id--) {
+            index.index(item(id, "Дрель " + id, "", true));
+        }
+
+        assertThat(index.search("дрель", 2, itemId -> itemId == 1), contains(2L, 3L));
+        assertThat(index.search("д", 3, itemId -> itemId == 2), contains(1L, 3L, 4L));
+        assertThat(index.search("дрель", 0, itemId -> false), empty());
+    }
+
+    @Test
+    void shouldEncodePostingListsWithLargeGaps() {
+        PostingList posting = new PostingList();
+        int[] docIds = {0, 1, 127, 128, 16_384, 2_000_000, Integer.MAX_VALUE - 1};
+        for (int docId : docIds) {
+            posting.add(docId);
+        }
+
+        assertThat(posting.toArray(), equalTo(docIds));
+
+        int[] candidates = {1, 2, 128, 2_000_000, Integer.MAX_VALUE - 1};
+        int count = posting.retain(candidates, candidates.length);
+
+        assertThat(List.of(candidates[0], candidates[1], candidates[2], candidates[3]),
+                contains(1, 128, 2_000_000, Integer.MAX_VALUE - 1));
+        assertThat(count, equalTo(4));
+    }
+
+    private Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
@@ -17,6 +17,7 @@ import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.existence.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -39,6 +40,9 @@ class ItemRequestServiceImplTests {
     @Mock
     private ItemRepository mockItemRepository;
 
+    @Mock
+    private UserExistenceService mockUserExistenceService;
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -109,18 +113,14 @@ class ItemRequestServiceImplTests {
 
     @Test
     void shouldThrowExceptionWhenFindAllItemsNotFoundUser() {
-        when(mockUserRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExists(anyLong());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.findOwnItemRequests(1L));
-        verify(mockUserRepository, times(1)).findById(anyLong());
+        verify(mockUserExistenceService, times(1)).requireExists(anyLong());
     }
 
     @Test
     void shouldFindOwnItemRequests() {
-        when(mockUserRepository.findById(1L))
-                .thenReturn(Optional.ofNullable(user));
-
         when(mockItemRequestRepository.findItemRequestsByRequestorId(user.getId()))
                 .thenReturn(List.of(itemRequest));
 
@@ -143,25 +143,21 @@ class ItemRequestServiceImplTests {
                 .build();
 
         assertThat(List.of(result), equalTo(itemRequestService.findOwnItemRequests(user.getId())));
-        verify(mockUserRepository, times(1)).findById(anyLong());
+        verify(mockUserExistenceService, times(1)).requireExists(anyLong());
         verify(mockItemRequestRepository, times(1)).findItemRequestsByRequestorId(anyLong());
         verify(mockItemRepository, times(1)).findItemByItemRequestIn(any());
     }
 
     @Test
     void shouldThrowExceptionWhenFindAllItemRequestsWithNotFoundUser() {
-        when(mockUserRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExists(anyLong());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.findAllItemRequests(0L, page));
-        verify(mockUserRepository, times(1)).findById(anyLong());
+        verify(mockUserExistenceService, times(1)).requireExists(anyLong());
     }
 
     @Test
     void shouldAllItemRequests() {
-        when(mockUserRepository.findById(1L))
-                .thenReturn(Optional.ofNullable(user));
-
         when(mockItemRepository.findItemByItemRequestIn(any()))
                 .thenReturn(List.of(item));
 
@@ -181,37 +177,30 @@ class ItemRequestServiceImplTests {
                 .build();
 
         assertThat(List.of(result), equalTo(itemRequestService.findAllItemRequests(user.getId(), page)));
-        verify(mockUserRepository, times(1)).findById(anyLong());
+        verify(mockUserExistenceService, times(1)).requireExists(anyLong());
         verify(mockItemRepository, times(1)).findItemByItemRequestIn(any());
     }
 
     @Test
     void shouldThrowExceptionWhenFindItemRequestsByIdWithNotFoundUser() {
-        when(mockUserRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(mockUserExistenceService).requireExists(anyLong());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.findItemRequestsById(0L, 1L));
-        verify(mockUserRepository, times(1)).findById(anyLong());
+        verify(mockUserExistenceService, times(1)).requireExists(anyLong());
     }
 
     @Test
     void shouldThrowExceptionWhenFindItemRequestsWhenItemRequestNotFound() {
-        when(mockUserRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(user));
-
         when(mockItemRequestRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.findItemRequestsById(1L, 0L));
-        verify(mockUserRepository, times(1)).findById(anyLong());
+        verify(mockUserExistenceService, times(1)).requireExists(anyLong());
         verify(mockItemRequestRepository, times(1)).findById(anyLong());
     }
 
     @Test
     void shouldFindItemRequestById() {
-        when(mockUserRepository.findById(1L))
-                .thenReturn(Optional.ofNullable(user));
-
         when(mockItemRequestRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(itemRequest));
 
@@ -234,7 +223,7 @@ class ItemRequestServiceImplTests {
                 .build();
 
         assertThat(result, equalTo(itemRequestService.findItemRequestsById(user.getId(), itemRequest.getId())));
-        verify(mockUserRepository, times(1)).findById(anyLong());
+        verify(mockUserExistenceService, times(1)).requireExists(anyLong());
         verify(mockItemRequestRepository, times(1)).findById(anyLong());
         verify(mockItemRepository, times(1)).findItemByItemRequestIn(any());
     }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,6 +16,7 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -22,8 +24,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constant.NEXT_CURSOR_HEADER;
 
 @ExtendWith(MockitoExtension.class)
 class UserControllerTests {
@@ -40,7 +45,8 @@ class UserControllerTests {
 
     private User user;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     void init() {
@@ -116,11 +122,15 @@ class UserControllerTests {
 
     @Test
     void shouldFindAllUsers() throws Exception {
-        when(mockUserService.findAll())
-                .thenReturn(List.of(user));
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(UserMapper.INSTANCE.mapToUserDto(user));
+            return 1L;
+        }).when(mockUserService).forEachUser(any());
 
         mvc.perform(get("/users"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(user.getId()), Long.class))
                 .andExpect(jsonPath("$[0].email", is(user.getEmail())))
@@ -128,6 +138,42 @@ class UserControllerTests {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldStreamEmptyUserList() throws Exception {
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void shouldFindUsersPageWithNextCursor() throws Exception {
+        List<UserDto> users = List.of(
+                UserDto.builder().id(3L).name("name").email("first@email.ru").build(),
+                UserDto.builder().id(5L).name("name").email("second@email.ru").build());
+        when(mockUserService.findAll(2L, 2))
+                .thenReturn(users);
+
+        mvc.perform(get("/users")
+                        .param("after", "2")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id", is(5L), Long.class))
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "5"));
+    }
+
+    @Test
+    void shouldOmitNextCursorOnLastUsersPage() throws Exception {
+        when(mockUserService.findAll(0L, 2))
+                .thenReturn(List.of(UserMapper.INSTANCE.mapToUserDto(user)));
+
+        mvc.perform(get("/users")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void shouldDeleteUserById() throws Exception {
         mvc.perform(delete("/users/{userId}", 1))
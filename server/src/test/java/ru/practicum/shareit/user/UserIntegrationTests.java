@@ -6,15 +6,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.AlreadyExistsException;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -83,4 +89,34 @@ class UserIntegrationTests {
         userService.deleteById(1);
         assertThat(userService.findAll().size(), equalTo(0));
     }
+
+    @Test
+    void shouldPageAndStreamUsersByKeyset() {
+        for (int i = 0; i < 5; i++) {
+            userService.save(User.builder().name("name").email("user" + i + "@email.ru").build());
+        }
+
+        List<UserDto> firstPage = userService.findAll(0, 2);
+        List<UserDto> secondPage = userService.findAll(firstPage.get(1).getId(), 2);
+        List<UserDto> streamed = new ArrayList<>();
+
+        assertThat(firstPage.stream().map(UserDto::getId).collect(Collectors.toList()), contains(1L, 2L));
+        assertThat(secondPage.stream().map(UserDto::getId).collect(Collectors.toList()), contains(3L, 4L));
+        assertThat(secondPage.get(0).getEmail(), equalTo("user2@email.ru"));
+        assertThat(userService.forEachUser(streamed::add), equalTo(5L));
+        assertThat(streamed.size(), equalTo(5));
+    }
+
+    @Test
+    void shouldRejectEmailDifferingOnlyInCase() {
+        userService.save(user);
+        User secondUser = userService.save(User.builder().name("name").email("second@email.ru").build());
+
+        User duplicate = User.builder().name("name").email("EMAIL@email.ru").build();
+        User update = User.builder().email("Email@Email.ru").build();
+        long secondUserId = secondUser.getId();
+
+        assertThrows(AlreadyExistsException.class, () -> userService.save(duplicate));
+        assertThrows(AlreadyExistsException.class, () -> userService.update(update, secondUserId));
+    }
 }
@@ -8,11 +8,21 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSubstringIndex;
 import ru.practicum.shareit.exception.AlreadyExistsException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.email.UserEmailRegistry;
 import ru.practicum.shareit.user.service.UserServiceImpl;
+import ru.practicum.shareit.user.existence.UserExistenceService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -25,6 +35,24 @@ class UserServiceImplTests {
     @Mock
     private UserRepository mockUserRepository;
 
+    @Mock
+    private BookingIntervalIndex mockBookingIntervalIndex;
+
+    @Mock
+    private ItemSearchIndex mockItemSearchIndex;
+
+    @Mock
+    private ItemSubstringIndex mockItemSubstringIndex;
+
+    @Mock
+    private EntityCacheEvictor mockEntityCacheEvictor;
+
+    @Mock
+    private UserExistenceService mockUserExistenceService;
+
+    @Mock
+    private UserEmailRegistry mockUserEmailRegistry;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -41,19 +69,20 @@ class UserServiceImplTests {
 
     @Test
     void shouldSaveUser() {
-        when(mockUserRepository.save(Mockito.any(User.class)))
+        when(mockUserRepository.saveAndFlush(Mockito.any(User.class)))
                 .thenReturn(user);
 
-        User userForBd = user;
-        userForBd.setId(null);
+        User userForBd = user.toBuilder().id(null).build();
 
         assertThat(userService.save(userForBd), equalTo(user));
-        verify(mockUserRepository, times(1)).save(any());
+        verify(mockUserRepository, times(1)).saveAndFlush(any());
+        verify(mockUserExistenceService, times(1)).register(user.getId());
+        verify(mockUserEmailRegistry, times(1)).register(user.getEmail());
     }
 
     @Test
     void shouldThrowExceptionWhenSavingUserWithDuplicateEmail() {
-        when(mockUserRepository.save(Mockito.any(User.class)))
+        when(mockUserRepository.saveAndFlush(Mockito.any(User.class)))
                 .thenThrow(DataIntegrityViolationException.class);
 
         User duplicateUser = User.builder()
@@ -64,7 +93,34 @@ class UserServiceImplTests {
         assertThrows(AlreadyExistsException.class,
                 () -> userService.save(duplicateUser));
 
-        verify(mockUserRepository, times(1)).save(any());
+        verify(mockUserRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldRejectRegisteredEmailWithoutSaving() {
+        when(mockUserEmailRegistry.isTaken(user.getEmail()))
+                .thenReturn(true);
+
+        User duplicateUser = user.toBuilder().id(null).build();
+
+        assertThrows(AlreadyExistsException.class, () -> userService.save(duplicateUser));
+        verify(mockUserRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldRejectEmailOfAnotherUserOnUpdate() {
+        User update = User.builder()
+                .email("taken@email.ru")
+                .build();
+
+        when(mockUserRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(mockUserEmailRegistry.isTakenByOther("taken@email.ru", user.getId()))
+                .thenReturn(true);
+
+        long userId = user.getId();
+        assertThrows(AlreadyExistsException.class, () -> userService.update(update, userId));
+        verify(mockUserRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -165,10 +221,31 @@ class UserServiceImplTests {
         verify(mockUserRepository, times(1)).saveAndFlush(updatedUser);
     }
 
+    @Test
+    void shouldVisitAllUsersInKeysetBatches() {
+        List<UserDto> firstBatch = LongStream.rangeClosed(1, 500)
+                .mapToObj(id -> UserDto.builder().id(id).build())
+                .collect(Collectors.toList());
+        List<UserDto> secondBatch = List.of(UserDto.builder().id(501L).build());
+        when(mockUserRepository.findUsersAfter(eq(0L), any()))
+                .thenReturn(firstBatch);
+        when(mockUserRepository.findUsersAfter(eq(500L), any()))
+                .thenReturn(secondBatch);
+
+        List<UserDto> visited = new ArrayList<>();
+
+        assertThat(userService.forEachUser(visited::add), equalTo(501L));
+        assertThat(visited.get(visited.size() - 1).getId(), equalTo(501L));
+        verify(mockUserRepository, times(2)).findUsersAfter(anyLong(), any());
+    }
+
     @Test
     void shouldDeleteUserById() {
         userService.deleteById(user.getId());
         verify(mockUserRepository, times(1)).deleteById(user.getId());
+        verify(mockBookingIntervalIndex, times(1)).evictAll();
+        verify(mockEntityCacheEvictor, times(1)).evictItems();
+        verify(mockUserExistenceService, times(1)).unregister(user.getId());
     }
 }
 
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.user.email;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEmailRegistryTests {
+    @Mock
+    private UserRepository mockUserRepository;
+
+    private UserEmailRegistry userEmailRegistry;
+
+    @BeforeEach
+    void init() {
+        userEmailRegistry = new UserEmailRegistry(mockUserRepository, 1000, 0.01, 2);
+    }
+
+    @Test
+    void shouldAnswerUnknownEmailWithoutDatabase() {
+        assertFalse(userEmailRegistry.isTaken("new@email.ru"));
+        assertFalse(userEmailRegistry.isTakenByOther("new@email.ru", 1L));
+
+        verifyNoInteractions(mockUserRepository);
+    }
+
+    @Test
+    void shouldConfirmRegisteredEmailInDatabaseIgnoringCase() {
+        when(mockUserRepository.existsByEmailNormalized("user@email.ru")).thenReturn(true);
+
+        userEmailRegistry.register("User@Email.ru");
+
+        assertTrue(userEmailRegistry.isTaken("USER@email.ru"));
+        verify(mockUserRepository, times(1)).existsByEmailNormalized("user@email.ru");
+    }
+
+    @Test
+    void shouldAllowEmailOfDeletedUser() {
+        when(mockUserRepository.existsByEmailNormalizedAndIdNot("user@email.ru", 2L)).thenReturn(false);
+
+        userEmailRegistry.register("user@email.ru");
+
+        assertFalse(userEmailRegistry.isTakenByOther("user@email.ru", 2L));
+    }
+
+    @Test
+    void shouldSeedFromUsersTable() {
+        when(mockUserRepository.findUsersAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                UserDto.builder().id(1L).email("first@email.ru").build(),
+                UserDto.builder().id(2L).email("Second@email.ru").build()));
+        when(mockUserRepository.findUsersAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(mockUserRepository.existsByEmailNormalized(anyString())).thenReturn(true);
+
+        userEmailRegistry.rebuild();
+
+        assertTrue(userEmailRegistry.isTaken("first@email.ru"));
+        assertTrue(userEmailRegistry.isTaken("second@email.ru"));
+        assertFalse(userEmailRegistry.isTaken("third@email.ru"));
+        verify(mockUserRepository, never()).existsByEmailNormalized("third@email.ru");
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfigured() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@email.ru"));
+
+        long falsePositives = IntStream.range(10_000, 20_000)
+                .filter(i -> filter.mightContain("user" + i + "@email.ru"))
+                .count();
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i + "@email.ru")));
+        assertThat(falsePositives, lessThan(200L));
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.user.existence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceServiceTests {
+    @Mock
+    private UserRepository mockUserRepository;
+
+    private UserExistenceService userExistenceService;
+
+    @BeforeEach
+    void init() {
+        userExistenceService = new UserExistenceService(mockUserRepository, 2);
+    }
+
+    @Test
+    void shouldAnswerSeededUsersWithoutDatabase() {
+        when(mockUserRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 3L));
+        when(mockUserRepository.findIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of(5L));
+
+        userExistenceService.rebuild();
+
+        assertTrue(userExistenceService.exists(1L));
+        assertTrue(userExistenceService.exists(3L));
+        assertTrue(userExistenceService.exists(5L));
+        verify(mockUserRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void shouldFallBackToDatabaseOnMiss() {
+        when(mockUserRepository.existsById(7L)).thenReturn(true);
+        when(mockUserRepository.existsById(8L)).thenReturn(false);
+
+        assertTrue(userExistenceService.exists(7L));
+        assertTrue(userExistenceService.exists(7L));
+        assertFalse(userExistenceService.exists(8L));
+        assertFalse(userExistenceService.exists(8L));
+
+        verify(mockUserRepository, times(1)).existsById(7L);
+        verify(mockUserRepository, times(2)).existsById(8L);
+    }
+
+    @Test
+    void shouldForgetUnregisteredUser() {
+        userExistenceService.register(1L);
+        assertTrue(userExistenceService.exists(1L));
+
+        userExistenceService.unregister(1L);
+
+        assertThrows(NotFoundException.class, () -> userExistenceService.requireExists(1L));
+        verify(mockUserRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void shouldNotRememberUserDeletedDuringLookup() {
+        when(mockUserRepository.existsById(1L)).thenAnswer(invocation -> {
+            userExistenceService.unregister(1L);
+            return true;
+        });
+
+        assertTrue(userExistenceService.exists(1L));
+        assertTrue(userExistenceService.exists(1L));
+
+        verify(mockUserRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void shouldKeepIdsOutsideBitmapInDatabase() {
+        long userId = Integer.MAX_VALUE + 1L;
+        when(mockUserRepository.existsById(userId)).thenReturn(true);
+
+        userExistenceService.register(userId);
+
+        assertTrue(userExistenceService.exists(userId));
+        verify(mockUserRepository, times(1)).existsById(userId);
+    }
+
+    @Test
+    void shouldKeepConcurrentlyRegisteredUsersWhileBitmapGrows() throws InterruptedException {
+        int threads = 8;
+        int usersPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            long firstId = (long) t * usersPerThread;
+            executor.submit(() -> {
+                startLatch.await();
+                for (long id = firstId; id < firstId + usersPerThread; id++) {
+                    userExistenceService.register(id);
+                    assertTrue(userExistenceService.exists(id));
+                }
+                return null;
+            });
+        }
+
+        startLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (long id = 0; id < (long) threads * usersPerThread; id++) {
+            assertTrue(userExistenceService.exists(id));
+        }
+        verify(mockUserRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void shouldConfirmHitAgainstDatabaseAndForgetDeletedUser() {
+        userExistenceService.register(1L);
+        when(mockUserRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> userExistenceService.requireExistsInDatabase(1L));
+        assertFalse(userExistenceService.exists(1L));
+
+        verify(mockUserRepository, times(2)).existsById(1L);
+    }
+}